@@ -2,6 +2,8 @@ package data_structures;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class ArrayLinearList<E> implements LinearListADT<E> {
 
@@ -311,6 +313,59 @@ public class ArrayLinearList<E> implements LinearListADT<E> {
 		return new IteratorCustom();
 	}
 
+	/*
+	 * Returns a Spliterator over the array in sequence. It splits by halving the
+	 * range of positions from front, so each half maps straight onto the circular
+	 * array without copying.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return new SpliteratorCustom(front, 0, arraySize);
+	}
+
+	private class SpliteratorCustom implements Spliterator<E> {
+		final int start;
+		int index;
+		final int fence;
+
+		SpliteratorCustom(int start, int origin, int fence) {
+			this.start = start;
+			this.index = origin;
+			this.fence = fence;
+		}
+
+		/* Returns a Spliterator over the first half of the remaining positions. */
+		@Override
+		public Spliterator<E> trySplit() {
+			int mid = (index + fence) >>> 1;
+			if (index >= mid)
+				return null;
+			SpliteratorCustom prefix = new SpliteratorCustom(start, index, mid);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (action == null)
+				throw new NullPointerException();
+			if (index >= fence)
+				return false;
+			action.accept(arr((start + index++) % maxSize));
+			return true;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
 	private class IteratorCustom implements Iterator<E> {
 		int currentObjectCount;
 		int ptr = front;
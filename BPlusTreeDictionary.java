@@ -0,0 +1,523 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * BPlusTreeDictionary is a DictionaryADT ordered by key. Entries are stored in
+ * the leaves of a B+ tree whose nodes hold up to maxKeys keys in flat arrays,
+ * so a search touches a few wide nodes instead of one small node per level.
+ * The leaves are linked in key order, which makes floor, ceiling and range
+ * scans cost O(log n) to find the start and O(1) per entry after that.
+ * add and delete are O(log n); nodes that fall below half full borrow from a
+ * sibling or merge with it.
+ */
+public class BPlusTreeDictionary<K extends Comparable<K>, V> implements DictionaryADT<K, V> {
+
+	public static final int DEFAULT_ORDER = 64;
+
+	private Node root;
+	private LeafNode firstLeaf;
+	int maxKeys; // Keys a node holds before it splits
+	int minKeys; // Keys a node other than the root holds at least
+	int currentNodesCount; // Current entries in the dictionary
+
+	/* Result of the last insert: the new right sibling of a split node. */
+	private Node splitNode;
+	private Object splitKey;
+
+	// Constructor to initialize the dictionary with the default node size
+	public BPlusTreeDictionary() {
+		this(DEFAULT_ORDER);
+	}
+
+	// Constructor to initialize the dictionary with nodes of up to order keys
+	public BPlusTreeDictionary(int order) {
+		if (order < 3) {
+			throw new IllegalArgumentException();
+		}
+		maxKeys = order;
+		minKeys = order / 2;
+		clear();
+	}
+
+	/*
+	 * Returns true if the dictionary has an object identified by key in it,
+	 * otherwise false.
+	 */
+	@Override
+	public boolean contains(K key) {
+		LeafNode leaf = findLeaf(key);
+		return leaf.search(key) >= 0;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the key is
+	 * a duplicate. Returns true if addition succeeded.
+	 */
+	@Override
+	public boolean add(K key, V value) {
+		splitNode = null;
+		if (!root.insert(key, value)) {
+			return false;
+		}
+		if (splitNode != null) {
+			InnerNode newRoot = new InnerNode();
+			newRoot.keys[0] = splitKey;
+			newRoot.children[0] = root;
+			newRoot.children[1] = splitNode;
+			newRoot.size = 1;
+			root = newRoot;
+			splitNode = null;
+			splitKey = null;
+		}
+		currentNodesCount++;
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	@Override
+	public boolean delete(K key) {
+		if (currentNodesCount == 0 || !root.delete(key)) {
+			return false;
+		}
+		if (root instanceof InnerNode && root.size == 0) {
+			root = ((InnerNode) root).children[0];
+		}
+		currentNodesCount--;
+		return true;
+	}
+
+	/*
+	 * Returns the value associated with the parameter key. Returns null if the key
+	 * is not found or the dictionary is empty.
+	 */
+	@Override
+	public V getValue(K key) {
+		LeafNode leaf = findLeaf(key);
+		int index = leaf.search(key);
+		if (index < 0) {
+			return null;
+		}
+		return (V) leaf.values[index];
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the smallest such key.
+	 */
+	@Override
+	public K getKey(V value) {
+		for (LeafNode leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+			for (int i = 0; i < leaf.size; i++) {
+				if (((Comparable<V>) leaf.values[i]).compareTo(value) == 0) {
+					return (K) leaf.keys[i];
+				}
+			}
+		}
+		return null;
+	}
+
+	/* Returns the greatest key less than or equal to key, or null if none. */
+	public K floor(K key) {
+		LeafNode leaf = findLeaf(key);
+		int index = leaf.search(key);
+		if (index >= 0) {
+			return (K) leaf.keys[index];
+		}
+		index = -index - 2;
+		if (index < 0) {
+			leaf = leaf.prev;
+			if (leaf == null) {
+				return null;
+			}
+			index = leaf.size - 1;
+		}
+		return (K) leaf.keys[index];
+	}
+
+	/* Returns the least key greater than or equal to key, or null if none. */
+	public K ceiling(K key) {
+		LeafNode leaf = findLeaf(key);
+		int index = leaf.search(key);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		if (index == leaf.size) {
+			leaf = leaf.next;
+			if (leaf == null) {
+				return null;
+			}
+			index = 0;
+		}
+		return (K) leaf.keys[index];
+	}
+
+	/*
+	 * Returns an Iterator of the keys from fromKey inclusive to toKey exclusive,
+	 * in sorted order. A null bound leaves that end of the range open.
+	 */
+	public Iterator<K> range(K fromKey, K toKey) {
+		return new RangeIteratorHelper<K>(fromKey, toKey, true);
+	}
+
+	/*
+	 * Returns an Iterator of the values whose keys lie in the same range as
+	 * range(fromKey, toKey), in sorted order of keys.
+	 */
+	public Iterator<V> rangeValues(K fromKey, K toKey) {
+		return new RangeIteratorHelper<V>(fromKey, toKey, false);
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary
+	 */
+	@Override
+	public int size() {
+		return currentNodesCount;
+	}
+
+	/* Returns false as the tree grows instead of becoming full */
+	@Override
+	public boolean isFull() {
+		return false;
+	}
+
+	/* Returns true if the dictionary is empty */
+	@Override
+	public boolean isEmpty() {
+		return currentNodesCount == 0;
+	}
+
+	/* Returns the dictionary to an empty state. */
+	@Override
+	public void clear() {
+		firstLeaf = new LeafNode();
+		root = firstLeaf;
+		currentNodesCount = 0;
+	}
+
+	@Override
+	public Iterator<K> keys() {
+		return range(null, null);
+	}
+
+	@Override
+	public Iterator<V> values() {
+		return rangeValues(null, null);
+	}
+
+	/* Method descends from the root to the leaf that holds or would hold key. */
+	private LeafNode findLeaf(K key) {
+		Node node = root;
+		while (node instanceof InnerNode) {
+			InnerNode inner = (InnerNode) node;
+			node = inner.children[inner.childIndex(key)];
+		}
+		return (LeafNode) node;
+	}
+
+	/*
+	 * Node holds its keys sorted in keys[0 .. size - 1]. The arrays have one
+	 * spare slot so that a node can overflow by one key before it splits.
+	 */
+	private abstract class Node {
+		Object[] keys = new Object[maxKeys + 1];
+		int size;
+
+		/*
+		 * Returns the index of key, or -(insertion point) - 1 if it is absent, as
+		 * java.util.Arrays.binarySearch does.
+		 */
+		int search(K key) {
+			int low = 0;
+			int high = size - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int cmp = ((K) keys[mid]).compareTo(key);
+				if (cmp < 0)
+					low = mid + 1;
+				else if (cmp > 0)
+					high = mid - 1;
+				else
+					return mid;
+			}
+			return -(low + 1);
+		}
+
+		/* Inserts the pair below this node, setting splitNode if this node splits. */
+		abstract boolean insert(K key, V value);
+
+		/* Deletes key below this node. The caller repairs underflow of this node. */
+		abstract boolean delete(K key);
+	}
+
+	private class LeafNode extends Node {
+		Object[] values = new Object[maxKeys + 1];
+		LeafNode prev, next;
+
+		boolean insert(K key, V value) {
+			int index = search(key);
+			if (index >= 0) {
+				return false;
+			}
+			index = -index - 1;
+			System.arraycopy(keys, index, keys, index + 1, size - index);
+			System.arraycopy(values, index, values, index + 1, size - index);
+			keys[index] = key;
+			values[index] = value;
+			size++;
+			if (size > maxKeys) {
+				split();
+			}
+			return true;
+		}
+
+		private void split() {
+			LeafNode right = new LeafNode();
+			int half = size / 2;
+			right.size = size - half;
+			System.arraycopy(keys, half, right.keys, 0, right.size);
+			System.arraycopy(values, half, right.values, 0, right.size);
+			for (int i = half; i < size; i++) {
+				keys[i] = null;
+				values[i] = null;
+			}
+			size = half;
+			right.next = next;
+			right.prev = this;
+			if (next != null)
+				next.prev = right;
+			next = right;
+			splitNode = right;
+			splitKey = right.keys[0];
+		}
+
+		boolean delete(K key) {
+			int index = search(key);
+			if (index < 0) {
+				return false;
+			}
+			removeAt(index);
+			return true;
+		}
+
+		void removeAt(int index) {
+			System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+			System.arraycopy(values, index + 1, values, index, size - index - 1);
+			size--;
+			keys[size] = null;
+			values[size] = null;
+		}
+	}
+
+	private class InnerNode extends Node {
+		Node[] children = (Node[]) new BPlusTreeDictionary.Node[maxKeys + 2];
+
+		/* Returns the index of the child whose key range contains key. */
+		int childIndex(K key) {
+			int index = search(key);
+			return (index >= 0) ? index + 1 : -index - 1;
+		}
+
+		boolean insert(K key, V value) {
+			int index = childIndex(key);
+			if (!children[index].insert(key, value)) {
+				return false;
+			}
+			if (splitNode != null) {
+				System.arraycopy(keys, index, keys, index + 1, size - index);
+				System.arraycopy(children, index + 1, children, index + 2, size - index);
+				keys[index] = splitKey;
+				children[index + 1] = splitNode;
+				size++;
+				splitNode = null;
+				if (size > maxKeys) {
+					split();
+				}
+			}
+			return true;
+		}
+
+		/* Moves the upper half of the keys to a new sibling and promotes the middle key. */
+		private void split() {
+			InnerNode right = new InnerNode();
+			int middle = size / 2;
+			right.size = size - middle - 1;
+			System.arraycopy(keys, middle + 1, right.keys, 0, right.size);
+			System.arraycopy(children, middle + 1, right.children, 0, right.size + 1);
+			splitKey = keys[middle];
+			for (int i = middle; i < size; i++) {
+				keys[i] = null;
+				children[i + 1] = null;
+			}
+			size = middle;
+			splitNode = right;
+		}
+
+		boolean delete(K key) {
+			int index = childIndex(key);
+			Node child = children[index];
+			if (!child.delete(key)) {
+				return false;
+			}
+			if (child.size < minKeys) {
+				repair(index);
+			}
+			return true;
+		}
+
+		/*
+		 * Restores the minimum size of children[index] by borrowing a key from an
+		 * adjacent sibling that can spare one, or else by merging with a sibling.
+		 */
+		private void repair(int index) {
+			if (index > 0 && children[index - 1].size > minKeys) {
+				borrowFromLeft(index);
+			} else if (index < size && children[index + 1].size > minKeys) {
+				borrowFromRight(index);
+			} else if (index > 0) {
+				merge(index - 1);
+			} else {
+				merge(index);
+			}
+		}
+
+		private void borrowFromLeft(int index) {
+			Node child = children[index];
+			Node left = children[index - 1];
+			System.arraycopy(child.keys, 0, child.keys, 1, child.size);
+			if (child instanceof LeafNode) {
+				LeafNode leaf = (LeafNode) child;
+				LeafNode leftLeaf = (LeafNode) left;
+				System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.size);
+				leaf.keys[0] = leftLeaf.keys[leftLeaf.size - 1];
+				leaf.values[0] = leftLeaf.values[leftLeaf.size - 1];
+				leftLeaf.removeAt(leftLeaf.size - 1);
+				keys[index - 1] = leaf.keys[0];
+			} else {
+				InnerNode inner = (InnerNode) child;
+				InnerNode leftInner = (InnerNode) left;
+				System.arraycopy(inner.children, 0, inner.children, 1, inner.size + 1);
+				inner.keys[0] = keys[index - 1];
+				inner.children[0] = leftInner.children[leftInner.size];
+				keys[index - 1] = leftInner.keys[leftInner.size - 1];
+				leftInner.keys[leftInner.size - 1] = null;
+				leftInner.children[leftInner.size] = null;
+				leftInner.size--;
+			}
+			child.size++;
+		}
+
+		private void borrowFromRight(int index) {
+			Node child = children[index];
+			Node right = children[index + 1];
+			if (child instanceof LeafNode) {
+				LeafNode leaf = (LeafNode) child;
+				LeafNode rightLeaf = (LeafNode) right;
+				leaf.keys[leaf.size] = rightLeaf.keys[0];
+				leaf.values[leaf.size] = rightLeaf.values[0];
+				rightLeaf.removeAt(0);
+				keys[index] = rightLeaf.keys[0];
+			} else {
+				InnerNode inner = (InnerNode) child;
+				InnerNode rightInner = (InnerNode) right;
+				inner.keys[inner.size] = keys[index];
+				inner.children[inner.size + 1] = rightInner.children[0];
+				keys[index] = rightInner.keys[0];
+				System.arraycopy(rightInner.keys, 1, rightInner.keys, 0, rightInner.size - 1);
+				System.arraycopy(rightInner.children, 1, rightInner.children, 0, rightInner.size);
+				rightInner.keys[rightInner.size - 1] = null;
+				rightInner.children[rightInner.size] = null;
+				rightInner.size--;
+			}
+			child.size++;
+		}
+
+		/* Merges children[index + 1] into children[index] and drops their separator. */
+		private void merge(int index) {
+			Node left = children[index];
+			Node right = children[index + 1];
+			if (left instanceof LeafNode) {
+				LeafNode leftLeaf = (LeafNode) left;
+				LeafNode rightLeaf = (LeafNode) right;
+				System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.size, rightLeaf.size);
+				System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.size, rightLeaf.size);
+				leftLeaf.size += rightLeaf.size;
+				leftLeaf.next = rightLeaf.next;
+				if (rightLeaf.next != null)
+					rightLeaf.next.prev = leftLeaf;
+			} else {
+				InnerNode leftInner = (InnerNode) left;
+				InnerNode rightInner = (InnerNode) right;
+				leftInner.keys[leftInner.size] = keys[index];
+				System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.size + 1, rightInner.size);
+				System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.size + 1, rightInner.size + 1);
+				leftInner.size += rightInner.size + 1;
+			}
+			System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+			System.arraycopy(children, index + 2, children, index + 1, size - index - 1);
+			size--;
+			keys[size] = null;
+			children[size + 1] = null;
+		}
+	}
+
+	/*
+	 * RangeIteratorHelper walks the linked leaves from the first key not less than
+	 * fromKey and stops at the first key not less than toKey, returning keys or
+	 * values.
+	 */
+	protected class RangeIteratorHelper<T> implements Iterator<T> {
+		private LeafNode leaf;
+		private int index;
+		private final K toKey;
+		private final boolean returnKeys;
+
+		public RangeIteratorHelper(K fromKey, K toKey, boolean returnKeys) {
+			this.toKey = toKey;
+			this.returnKeys = returnKeys;
+			if (fromKey == null) {
+				leaf = firstLeaf;
+			} else {
+				leaf = findLeaf(fromKey);
+				index = leaf.search(fromKey);
+				if (index < 0) {
+					index = -index - 1;
+				}
+			}
+			advance();
+		}
+
+		/* Moves past exhausted leaves and ends the range at toKey. */
+		private void advance() {
+			while (leaf != null && index == leaf.size) {
+				leaf = leaf.next;
+				index = 0;
+			}
+			if (leaf != null && toKey != null && ((K) leaf.keys[index]).compareTo(toKey) >= 0) {
+				leaf = null;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return leaf != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Object result = returnKeys ? leaf.keys[index] : leaf.values[index];
+			index++;
+			advance();
+			return (T) result;
+		}
+	}
+}
@@ -1,14 +1,40 @@
 package data_structures;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements PriorityQueue<E> {
 
+	/* Soft cap of a growable PQ that never reports itself full. */
+	public static final int NO_SOFT_CAP = Integer.MAX_VALUE;
+
+	/* Largest heap array a growable PQ allocates. */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
 	int currentSize = 0;
 	int maxSize = 0;
 	long entryNumber = 0;
 	private Wrapper[] binaryHeap;
+	boolean growable; // Heap array grows and shrinks instead of becoming full
+	int initialCapacity; // Smallest heap array of a growable PQ
+	int softCap; // Size above which a growable PQ reports itself full
+	boolean overSoftCap;
+	private CapacityListener capacityListener;
+
+	/*
+	 * CapacityListener is told when a growable PQ goes above its soft cap and
+	 * when it drops back below it, so that producers can be paused and resumed
+	 * instead of having their objects rejected.
+	 */
+	public interface CapacityListener {
+		public void softCapExceeded(int size);
+
+		public void softCapCleared(int size);
+	}
 
 	protected class Wrapper<E> implements Comparable<Wrapper<E>> {
 
@@ -38,6 +64,49 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 		this.maxSize = maximumSize;
 	}
 
+	/*
+	 * Constructs a growable PQ. Insertion never fails: the heap array doubles
+	 * when it fills up and halves again, down to initialCapacity, once it is
+	 * less than a quarter used. Above softCap objects are still accepted, but
+	 * isFull returns true and the CapacityListener, if any, is notified, so
+	 * producers can apply backpressure. Pass NO_SOFT_CAP for no cap.
+	 */
+	public BinaryHeapPriorityQueue(int initialCapacity, int softCap) {
+		if (initialCapacity < 1 || softCap < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.binaryHeap = new Wrapper[initialCapacity];
+		this.maxSize = MAX_ARRAY_SIZE;
+		this.growable = true;
+		this.initialCapacity = initialCapacity;
+		this.softCap = softCap;
+	}
+
+	/*
+	 * Constructs a growable PQ with no soft cap holding the given objects. The
+	 * heap is built bottom-up in O(n) instead of by n insertions, and objects
+	 * that compare equal are removed in array order.
+	 */
+	public BinaryHeapPriorityQueue(E[] objects) {
+		this(DEFAULT_MAX_CAPACITY, NO_SOFT_CAP);
+		insertAll(objects);
+	}
+
+	/*
+	 * Constructs a growable PQ with no soft cap holding the objects of the
+	 * collection, built as for BinaryHeapPriorityQueue(E[]). Objects that compare
+	 * equal are removed in the collection's iteration order.
+	 */
+	public BinaryHeapPriorityQueue(Collection<? extends E> objects) {
+		this(DEFAULT_MAX_CAPACITY, NO_SOFT_CAP);
+		insertAll(objects);
+	}
+
+	/* Sets the listener told about soft cap crossings, or null for none. */
+	public void setCapacityListener(CapacityListener listener) {
+		this.capacityListener = listener;
+	}
+
 	/*
 	 * Inserts a new object into the priority queue. Returns true if the insertion
 	 * is successful. If the PQ is full, the insertion is aborted, and the method
@@ -48,15 +117,53 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 		if (currentSize >= maxSize)
 			return false;
 		else {
+			if (currentSize == binaryHeap.length)
+				resize((int) Math.min(MAX_ARRAY_SIZE, Math.max(2, 2L * currentSize)));
 			Wrapper obj = new Wrapper(object);
 			currentSize++;
 			int lastAvailableIndex = currentSize - 1;
 			binaryHeap[lastAvailableIndex] = obj;
 			trickleUp();
+			if (growable)
+				afterInsert();
 		}
 		return true;
 	}
 
+	/*
+	 * Inserts every object of the array, as insertAll(Collection) does. Returns
+	 * false, inserting nothing, if the PQ has no room for all of them.
+	 */
+	public boolean insertAll(E[] objects) {
+		return insertAll(Arrays.asList(objects));
+	}
+
+	/*
+	 * Inserts every object of the collection. Returns false, inserting nothing,
+	 * if the PQ has no room for all of them. A batch at least as large as the PQ
+	 * already was is appended and the heap rebuilt bottom-up in O(n); a smaller
+	 * batch is trickled up one object at a time. Either way, objects that compare
+	 * equal are removed in the order they were inserted.
+	 */
+	public boolean insertAll(Collection<? extends E> objects) {
+		int count = objects.size();
+		if (count > maxSize - currentSize)
+			return false;
+		if (currentSize + count > binaryHeap.length)
+			resize(currentSize + count);
+		boolean rebuild = count >= currentSize;
+		for (E object : objects) {
+			binaryHeap[currentSize++] = new Wrapper(object);
+			if (!rebuild)
+				trickleUp();
+		}
+		if (rebuild)
+			heapify();
+		if (growable)
+			afterInsert();
+		return true;
+	}
+
 	/*
 	 * Removes the object of highest priority that has been in the PQ the longest,
 	 * and returns it. Returns null if the PQ is empty.
@@ -70,6 +177,8 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 		trickleDown(0);
 		binaryHeap[currentSize - 1] = null;
 		currentSize--;
+		if (growable)
+			afterRemove();
 		return returnedObject;
 	}
 
@@ -88,6 +197,8 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 				trickleDown(i);
 				binaryHeap[currentSize - 1] = null;
 				currentSize--;
+				if (growable)
+					afterRemove();
 				delete(obj);
 				return true;
 			}
@@ -138,6 +249,10 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 			binaryHeap[i] = null;
 		}
 		currentSize = 0;
+		if (growable) {
+			binaryHeap = new Wrapper[initialCapacity];
+			afterRemove();
+		}
 	}
 
 	/* Returns true if the PQ is empty, otherwise false */
@@ -148,9 +263,14 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 		return false;
 	}
 
-	/* Returns true if the PQ is full, otherwise false. */
+	/*
+	 * Returns true if the PQ is full, otherwise false. A growable PQ is full
+	 * while it holds more objects than its soft cap.
+	 */
 	@Override
 	public boolean isFull() {
+		if (growable)
+			return currentSize > softCap;
 		if (currentSize == maxSize)
 			return true;
 		return false;
@@ -161,6 +281,56 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 		return new IteratorCustom();
 	}
 
+	/*
+	 * Returns a Spliterator of the objects in the PQ, in no particular order. It
+	 * splits by halving the range of the heap array that is still to be visited.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return new SpliteratorCustom(0, currentSize);
+	}
+
+	private class SpliteratorCustom implements Spliterator<E> {
+		int index;
+		final int fence;
+
+		SpliteratorCustom(int origin, int fence) {
+			this.index = origin;
+			this.fence = fence;
+		}
+
+		/* Returns a Spliterator over the first half of the remaining heap slots. */
+		@Override
+		public Spliterator<E> trySplit() {
+			int mid = (index + fence) >>> 1;
+			if (index >= mid)
+				return null;
+			SpliteratorCustom prefix = new SpliteratorCustom(index, mid);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (action == null)
+				throw new NullPointerException();
+			if (index >= fence)
+				return false;
+			action.accept((E) binaryHeap[index++].data);
+			return true;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
 	private class IteratorCustom implements Iterator<E> {
 		int currentObjectCount;
 		int ptr = 0;
@@ -186,6 +356,37 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 		}
 	}
 
+	/* Method reports a growable PQ going above its soft cap. */
+	private void afterInsert() {
+		if (!overSoftCap && currentSize > softCap) {
+			overSoftCap = true;
+			if (capacityListener != null)
+				capacityListener.softCapExceeded(currentSize);
+		}
+	}
+
+	/*
+	 * Method shrinks the heap array of a growable PQ once it is less than a
+	 * quarter used, and reports dropping back to the soft cap.
+	 */
+	private void afterRemove() {
+		int length = binaryHeap.length;
+		if (length > initialCapacity && currentSize < length / 4)
+			resize(Math.max(initialCapacity, length / 2));
+		if (overSoftCap && currentSize <= softCap) {
+			overSoftCap = false;
+			if (capacityListener != null)
+				capacityListener.softCapCleared(currentSize);
+		}
+	}
+
+	/* Method moves the heap into a new array of the given length. */
+	private void resize(int length) {
+		Wrapper[] newHeap = new Wrapper[length];
+		System.arraycopy(binaryHeap, 0, newHeap, 0, currentSize);
+		binaryHeap = newHeap;
+	}
+
 	/*
 	 * Method restructures the heap to follow min heap property after adding an
 	 * element to min heap.
@@ -218,6 +419,37 @@ public class BinaryHeapPriorityQueue<E extends Comparable<E>> implements Priorit
 		binaryHeap[current] = binaryHeap[currentSize - 1];
 	}
 
+	/*
+	 * Method restores the min heap property of the whole array bottom-up, sifting
+	 * down every node that has a child, starting from the last one. This costs
+	 * O(n), as most nodes are near the bottom and sift down only a level or two.
+	 */
+	private void heapify() {
+		for (int i = (currentSize >> 1) - 1; i >= 0; i--) {
+			siftDown(i);
+		}
+	}
+
+	/*
+	 * Method moves the element at index down, swapping it with its earlier child,
+	 * until it comes before both of its children.
+	 */
+	private void siftDown(int index) {
+		Wrapper<E> value = binaryHeap[index];
+		int half = currentSize >> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			int right = child + 1;
+			if (right < currentSize && binaryHeap[right].compareTo(binaryHeap[child]) < 0)
+				child = right;
+			if (value.compareTo(binaryHeap[child]) <= 0)
+				break;
+			binaryHeap[index] = binaryHeap[child];
+			index = child;
+		}
+		binaryHeap[index] = value;
+	}
+
 	private int getNextChild(int current) {
 		int left = (current << 1) + 1;
 		int right = left + 1;
@@ -0,0 +1,457 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * BoundedCache is a DictionaryADT that holds at most maximumSize entries and
+ * evicts one when a new key is added to a full cache, instead of rejecting the
+ * addition. Keys are indexed by a growable Hashtable whose values are the cache
+ * nodes; the nodes are also linked into access-ordered queues so that a hit in
+ * getValue reorders them in O(1).
+ *
+ * LRU evicts the least recently used entry. W_TINY_LFU admits new entries into
+ * a small LRU window; an entry leaving the window only displaces the oldest
+ * entry of the main segmented LRU if a frequency sketch has seen it more often,
+ * which keeps one-off keys from flushing a frequently used working set.
+ */
+public class BoundedCache<K extends Comparable<K>, V> implements DictionaryADT<K, V> {
+
+	/* Eviction policies of the cache. */
+	public enum EvictionPolicy {
+		LRU, W_TINY_LFU
+	}
+
+	/* Receives the entries evicted to make room. Not called by delete or clear. */
+	public interface EvictionListener<K, V> {
+		public void onEviction(K key, V value);
+	}
+
+	private static final int WINDOW = 0;
+	private static final int PROBATION = 1;
+	private static final int PROTECTED = 2;
+
+	private final Hashtable<K, CacheNode<K, V>> index;
+	private final EvictionPolicy policy;
+	private final AccessQueue<K, V> window = new AccessQueue<K, V>();
+	private final AccessQueue<K, V> probation = new AccessQueue<K, V>();
+	private final AccessQueue<K, V> protectedQueue = new AccessQueue<K, V>();
+	private final FrequencySketch sketch;
+	private EvictionListener<K, V> evictionListener;
+	int maxSize; // Maximum entries in the cache
+	int windowMaxSize; // Maximum entries in the admission window
+	int protectedMaxSize; // Maximum entries in the protected segment
+	long hitCount;
+	long missCount;
+	long evictionCount;
+
+	// Constructor to initialize an LRU cache
+	public BoundedCache(int maximumSize) {
+		this(maximumSize, EvictionPolicy.LRU);
+	}
+
+	// Constructor to initialize a cache with the given eviction policy
+	public BoundedCache(int maximumSize, EvictionPolicy policy) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.maxSize = maximumSize;
+		this.policy = policy;
+		this.index = new Hashtable<K, CacheNode<K, V>>((int) Math.min(Integer.MAX_VALUE / 2, maximumSize * 4L / 3 + 1),
+				Hashtable.DEFAULT_LOAD_FACTOR);
+		if (policy == EvictionPolicy.W_TINY_LFU) {
+			windowMaxSize = Math.max(1, maximumSize / 100);
+			protectedMaxSize = (int) ((maximumSize - windowMaxSize) * 4L / 5);
+			sketch = new FrequencySketch(maximumSize);
+		} else {
+			windowMaxSize = maximumSize;
+			sketch = null;
+		}
+	}
+
+	/* Sets the listener notified of every eviction, or null for none. */
+	public void setEvictionListener(EvictionListener<K, V> listener) {
+		this.evictionListener = listener;
+	}
+
+	/*
+	 * Returns true if the cache has an entry identified by key in it, otherwise
+	 * false. Does not count as an access.
+	 */
+	@Override
+	public boolean contains(K key) {
+		return index.contains(key);
+	}
+
+	/*
+	 * Adds the given key/value pair to the cache, evicting an entry if the cache
+	 * is full. Returns false if the key is a duplicate, otherwise true. With
+	 * W_TINY_LFU the policy may decide that a new entry is the one to evict.
+	 */
+	@Override
+	public boolean add(K key, V value) {
+		CacheNode<K, V> node = new CacheNode<K, V>(key, value);
+		if (!index.add(key, node)) {
+			return false;
+		}
+		if (sketch != null) {
+			sketch.increment(key.hashCode());
+		}
+		node.queue = WINDOW;
+		window.addLast(node);
+		if (policy == EvictionPolicy.LRU) {
+			if (window.size > maxSize) {
+				evict(window.peekFirst());
+			}
+		} else {
+			admit();
+		}
+		return true;
+	}
+
+	/*
+	 * Deletes the entry identified by the key parameter. Returns true if the entry
+	 * was found and removed, otherwise false.
+	 */
+	@Override
+	public boolean delete(K key) {
+		CacheNode<K, V> node = index.extract(key);
+		if (node == null) {
+			return false;
+		}
+		getQueue(node).remove(node);
+		return true;
+	}
+
+	/*
+	 * Returns the value associated with the parameter key and records the access.
+	 * Returns null if the key is not in the cache.
+	 */
+	@Override
+	public V getValue(K key) {
+		CacheNode<K, V> node = index.getValue(key);
+		if (node == null) {
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		if (sketch != null) {
+			sketch.increment(key.hashCode());
+		}
+		if (node.queue == PROBATION) {
+			// A second access promotes the entry into the protected segment
+			probation.remove(node);
+			node.queue = PROTECTED;
+			protectedQueue.addLast(node);
+			if (protectedQueue.size > protectedMaxSize) {
+				CacheNode<K, V> demoted = protectedQueue.peekFirst();
+				protectedQueue.remove(demoted);
+				demoted.queue = PROBATION;
+				probation.addLast(demoted);
+			}
+		} else {
+			getQueue(node).moveToLast(node);
+		}
+		return node.value;
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the cache. If more than one key exists that matches
+	 * the given value, returns the first one found.
+	 */
+	@Override
+	public K getKey(V value) {
+		K key = window.findKey(value);
+		if (key == null) {
+			key = probation.findKey(value);
+		}
+		if (key == null) {
+			key = protectedQueue.findKey(value);
+		}
+		return key;
+	}
+
+	/* Returns the number of entries currently stored in the cache */
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	/*
+	 * Returns true if the cache is at maximum capacity, in which case the next
+	 * add evicts an entry.
+	 */
+	@Override
+	public boolean isFull() {
+		return index.size() == maxSize;
+	}
+
+	/* Returns true if the cache is empty */
+	@Override
+	public boolean isEmpty() {
+		return index.isEmpty();
+	}
+
+	/* Returns the cache to an empty state. Statistics are kept. */
+	@Override
+	public void clear() {
+		index.clear();
+		window.clear();
+		probation.clear();
+		protectedQueue.clear();
+	}
+
+	/* Returns an Iterator of the keys in the cache, in sorted order. */
+	@Override
+	public Iterator<K> keys() {
+		return index.keys();
+	}
+
+	/* Returns an Iterator of the values in the cache, in sorted order of keys. */
+	@Override
+	public Iterator<V> values() {
+		return new ValueIteratorHelper();
+	}
+
+	/* Returns the number of getValue calls that found their key. */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/* Returns the number of getValue calls that did not find their key. */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/* Returns the number of entries evicted to make room. */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/* Returns hits / (hits + misses), or 1 if no lookup was made yet. */
+	public double getHitRate() {
+		long requests = hitCount + missCount;
+		return (requests == 0) ? 1.0 : (double) hitCount / requests;
+	}
+
+	/*
+	 * Method moves the oldest window entries that no longer fit into the window
+	 * to the probation segment. While the cache is over capacity, each of them
+	 * competes with the oldest probation entry and the one the sketch has seen
+	 * less often is evicted.
+	 */
+	private void admit() {
+		while (window.size > windowMaxSize) {
+			CacheNode<K, V> candidate = window.peekFirst();
+			window.remove(candidate);
+			candidate.queue = PROBATION;
+			probation.addLast(candidate);
+			if (index.size() <= maxSize) {
+				continue;
+			}
+			CacheNode<K, V> victim = probation.peekFirst();
+			if (victim == candidate) {
+				evict(candidate);
+			} else if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+				evict(victim);
+			} else {
+				evict(candidate);
+			}
+		}
+		while (index.size() > maxSize) {
+			CacheNode<K, V> victim = probation.peekFirst();
+			if (victim == null) {
+				victim = protectedQueue.peekFirst();
+			}
+			if (victim == null) {
+				victim = window.peekFirst();
+			}
+			evict(victim);
+		}
+	}
+
+	/* Method removes the node from the cache and notifies the listener. */
+	private void evict(CacheNode<K, V> node) {
+		getQueue(node).remove(node);
+		index.delete(node.key);
+		evictionCount++;
+		if (evictionListener != null) {
+			evictionListener.onEviction(node.key, node.value);
+		}
+	}
+
+	private AccessQueue<K, V> getQueue(CacheNode<K, V> node) {
+		if (node.queue == WINDOW) {
+			return window;
+		}
+		if (node.queue == PROBATION) {
+			return probation;
+		}
+		return protectedQueue;
+	}
+
+	static final class CacheNode<K, V> {
+		K key;
+		V value;
+		int queue; // WINDOW, PROBATION or PROTECTED
+		CacheNode<K, V> prev;
+		CacheNode<K, V> next;
+
+		CacheNode(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/*
+	 * AccessQueue is a doubly linked list of cache nodes ordered from least to
+	 * most recently used.
+	 */
+	static final class AccessQueue<K, V> {
+		private CacheNode<K, V> head, tail;
+		int size;
+
+		void addLast(CacheNode<K, V> node) {
+			node.prev = tail;
+			node.next = null;
+			if (tail == null)
+				head = node;
+			else
+				tail.next = node;
+			tail = node;
+			size++;
+		}
+
+		void remove(CacheNode<K, V> node) {
+			if (node.prev == null)
+				head = node.next;
+			else
+				node.prev.next = node.next;
+			if (node.next == null)
+				tail = node.prev;
+			else
+				node.next.prev = node.prev;
+			node.prev = node.next = null;
+			size--;
+		}
+
+		void moveToLast(CacheNode<K, V> node) {
+			if (node != tail) {
+				remove(node);
+				addLast(node);
+			}
+		}
+
+		CacheNode<K, V> peekFirst() {
+			return head;
+		}
+
+		K findKey(V value) {
+			for (CacheNode<K, V> node = head; node != null; node = node.next) {
+				if (((Comparable<V>) node.value).compareTo(value) == 0)
+					return node.key;
+			}
+			return null;
+		}
+
+		void clear() {
+			head = tail = null;
+			size = 0;
+		}
+	}
+
+	/*
+	 * FrequencySketch is a count-min sketch of 4-bit counters estimating how
+	 * often each key hash was seen. Every counter is halved once the number of
+	 * increments reaches ten times the cache size, so the estimate follows
+	 * recent popularity.
+	 */
+	static final class FrequencySketch {
+		private static final long[] SEEDS = { 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL,
+				0xCBF29CE484222325L };
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private final long[] table;
+		private final int tableMask;
+		private final int sampleSize;
+		private int increments;
+
+		FrequencySketch(int maximumSize) {
+			int size = 8;
+			while (size < maximumSize) {
+				size <<= 1;
+			}
+			table = new long[size];
+			tableMask = size - 1;
+			sampleSize = (maximumSize > Integer.MAX_VALUE / 10) ? Integer.MAX_VALUE : 10 * maximumSize;
+		}
+
+		/* Returns the estimated number of occurrences of hash, at most 15. */
+		int frequency(int hash) {
+			int start = (spread(hash) & 3) << 2;
+			int frequency = 15;
+			for (int i = 0; i < 4; i++) {
+				int count = (int) ((table[indexOf(hash, i)] >>> ((start + i) << 2)) & 0xF);
+				frequency = Math.min(frequency, count);
+			}
+			return frequency;
+		}
+
+		/* Increments the counters of hash, halving all counters periodically. */
+		void increment(int hash) {
+			int start = (spread(hash) & 3) << 2;
+			boolean added = false;
+			for (int i = 0; i < 4; i++) {
+				int index = indexOf(hash, i);
+				int offset = (start + i) << 2;
+				if (((table[index] >>> offset) & 0xF) != 0xF) {
+					table[index] += 1L << offset;
+					added = true;
+				}
+			}
+			if (added && ++increments == sampleSize) {
+				for (int i = 0; i < table.length; i++) {
+					table[i] = (table[i] >>> 1) & RESET_MASK;
+				}
+				increments = increments / 2;
+			}
+		}
+
+		private int indexOf(int hash, int row) {
+			long h = (hash + SEEDS[row]) * SEEDS[row];
+			h += h >>> 32;
+			return (int) h & tableMask;
+		}
+
+		private static int spread(int h) {
+			h = ((h >>> 16) ^ h) * 0x45D9F3B;
+			return (h >>> 16) ^ h;
+		}
+	}
+
+	/*
+	 * ValueIteratorHelper class implements the methods to iterate on the cache and
+	 * retrieve values. Values will be retrieved in sorted order of keys.
+	 */
+	protected class ValueIteratorHelper implements Iterator<V> {
+		private Iterator<CacheNode<K, V>> itr;
+
+		public ValueIteratorHelper() {
+			itr = index.values();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return itr.hasNext();
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return itr.next().value;
+		}
+	}
+}
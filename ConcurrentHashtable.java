@@ -0,0 +1,427 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Thread safe implementation of DictionaryADT. The buckets are split into
+ * segments, each guarded by its own lock, so writers only contend when they hit
+ * the same segment. Lookups take no lock at all: nodes are published through
+ * volatile references and a segment that grows copies its nodes into a new
+ * table instead of relinking them, so a reader always walks a consistent chain.
+ * The node count is kept in a LongAdder so that size() is not a shared hot spot.
+ */
+public class ConcurrentHashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V> {
+
+	public static final int DEFAULT_INITIAL_CAPACITY = 256;
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+	/* Maximum fraction of a segment's buckets in use before it grows. */
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final Segment<K, V>[] segments;
+	private final int segmentShift; // Top hash bits select the segment
+	private final LongAdder nodesCount = new LongAdder(); // Current nodes in hashtable
+
+	// Constructor to initialize hash table with default sizes
+	public ConcurrentHashtable() {
+		this(DEFAULT_INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/*
+	 * Constructor to initialize hash table. concurrencyLevel is the number of
+	 * writers expected to update the table at once and is rounded up to a power
+	 * of two segments; initialCapacity is spread across the segments.
+	 */
+	public ConcurrentHashtable(int initialCapacity, int concurrencyLevel) {
+		if (initialCapacity < 1 || concurrencyLevel < 1) {
+			throw new IllegalArgumentException();
+		}
+		int segmentCount = 1;
+		while (segmentCount < concurrencyLevel && segmentCount < (1 << 16)) {
+			segmentCount <<= 1;
+		}
+		segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+		int bucketsPerSegment = 2;
+		while (bucketsPerSegment * segmentCount < initialCapacity) {
+			bucketsPerSegment <<= 1;
+		}
+		segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment<K, V>(bucketsPerSegment);
+		}
+	}
+
+	/*
+	 * Returns true if the dictionary has an object identified by key in it,
+	 * otherwise false.
+	 */
+	@Override
+	public boolean contains(K key) {
+		int hash = getHash(key);
+		return getSegment(hash).find(key, hash) != null;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the key is
+	 * a duplicate. Returns true if addition succeeded.
+	 */
+	@Override
+	public boolean add(K key, V value) {
+		int hash = getHash(key);
+		if (!getSegment(hash).add(key, hash, value)) {
+			return false;
+		}
+		nodesCount.increment();
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	@Override
+	public boolean delete(K key) {
+		int hash = getHash(key);
+		if (!getSegment(hash).delete(key, hash)) {
+			return false;
+		}
+		nodesCount.decrement();
+		return true;
+	}
+
+	/*
+	 * Returns the value associated with the parameter key. Returns null if the key
+	 * is not found or the dictionary is empty.
+	 */
+	@Override
+	public V getValue(K key) {
+		int hash = getHash(key);
+		Node<K, V> node = getSegment(hash).find(key, hash);
+		if (node == null) {
+			return null;
+		}
+		return node.value;
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the first one found.
+	 */
+	@Override
+	public K getKey(V value) {
+		for (int i = 0; i < segments.length; i++) {
+			AtomicReferenceArray<Node<K, V>> table = segments[i].table;
+			for (int j = 0; j < table.length(); j++) {
+				for (Node<K, V> node = table.get(j); node != null; node = node.next) {
+					if (((Comparable<V>) node.value).compareTo(value) == 0) {
+						return node.key;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary.
+	 * While writers are active the result is only an estimate.
+	 */
+	@Override
+	public int size() {
+		long count = nodesCount.sum();
+		return (count > Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) count;
+	}
+
+	/* Returns false as the dictionary grows instead of becoming full */
+	@Override
+	public boolean isFull() {
+		return false;
+	}
+
+	/* Returns true if the dictionary is empty */
+	@Override
+	public boolean isEmpty() {
+		return nodesCount.sum() <= 0;
+	}
+
+	/* Returns the dictionary to an empty state, one segment at a time. */
+	@Override
+	public void clear() {
+		for (int i = 0; i < segments.length; i++) {
+			nodesCount.add(-segments[i].clear());
+		}
+	}
+
+	/*
+	 * Returns an Iterator of the keys in sorted order. The iterator is weakly
+	 * consistent: it reflects the dictionary at some point during its creation,
+	 * never throws because of concurrent updates, and never blocks writers.
+	 */
+	@Override
+	public Iterator<K> keys() {
+		return new KeyIteratorHelper();
+	}
+
+	/*
+	 * Returns an Iterator of the values in sorted order of keys, with the same
+	 * weak consistency as keys().
+	 */
+	@Override
+	public Iterator<V> values() {
+		return new ValueIteratorHelper();
+	}
+
+	/* Method spreads the key's hashCode so that both halves are well mixed. */
+	private int getHash(K key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h;
+	}
+
+	private Segment<K, V> getSegment(int hash) {
+		if (segmentShift == 32) {
+			return segments[0];
+		}
+		return segments[hash >>> segmentShift];
+	}
+
+	/*
+	 * Method gathers the nodes of every segment without locking and sorts them by
+	 * key. Nodes added or removed while it runs may or may not be included.
+	 */
+	private Node[] getSortedNodes() {
+		Node[] nodes = new Node[Math.max(16, size())];
+		int count = 0;
+		for (int i = 0; i < segments.length; i++) {
+			AtomicReferenceArray<Node<K, V>> table = segments[i].table;
+			for (int j = 0; j < table.length(); j++) {
+				for (Node<K, V> node = table.get(j); node != null; node = node.next) {
+					if (count == nodes.length) {
+						Node[] grown = new Node[count * 2];
+						System.arraycopy(nodes, 0, grown, 0, count);
+						nodes = grown;
+					}
+					nodes[count++] = node;
+				}
+			}
+		}
+		Node[] sorted = new Node[count];
+		System.arraycopy(nodes, 0, sorted, 0, count);
+		quickSort(sorted, 0, count - 1);
+		return sorted;
+	}
+
+	private void quickSort(Node[] nodes, int left, int right) {
+		while (left < right) {
+			K pivot = (K) nodes[(left + right) >>> 1].key;
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (((K) nodes[i].key).compareTo(pivot) < 0)
+					i++;
+				while (((K) nodes[j].key).compareTo(pivot) > 0)
+					j--;
+				if (i <= j) {
+					Node temp = nodes[i];
+					nodes[i++] = nodes[j];
+					nodes[j--] = temp;
+				}
+			}
+			// Recurse into the smaller half to bound the stack depth
+			if (j - left < right - i) {
+				quickSort(nodes, left, j);
+				left = i;
+			} else {
+				quickSort(nodes, i, right);
+				right = j;
+			}
+		}
+	}
+
+	/*
+	 * Node of a bucket chain. key and hash never change; value and next are
+	 * volatile so that lock-free readers see the writes made under the lock.
+	 */
+	static final class Node<K, V> {
+		final int hash;
+		final K key;
+		volatile V value;
+		volatile Node<K, V> next;
+
+		Node(int hash, K key, V value, Node<K, V> next) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+	}
+
+	/*
+	 * Segment owns a power of two table of buckets. All updates hold the
+	 * segment's lock; lookups read the volatile table reference and bucket heads.
+	 */
+	static final class Segment<K extends Comparable<K>, V> {
+		private final ReentrantLock lock = new ReentrantLock();
+		volatile AtomicReferenceArray<Node<K, V>> table;
+		int count; // Nodes in this segment, guarded by the lock
+		int threshold; // count above which the table doubles
+
+		Segment(int capacity) {
+			table = new AtomicReferenceArray<Node<K, V>>(capacity);
+			threshold = (int) (capacity * LOAD_FACTOR);
+		}
+
+		/* Returns the node holding key, or null. Takes no lock. */
+		Node<K, V> find(K key, int hash) {
+			AtomicReferenceArray<Node<K, V>> tab = table;
+			for (Node<K, V> node = tab.get(hash & (tab.length() - 1)); node != null; node = node.next) {
+				if (node.hash == hash && (node.key == key || key.compareTo(node.key) == 0)) {
+					return node;
+				}
+			}
+			return null;
+		}
+
+		boolean add(K key, int hash, V value) {
+			lock.lock();
+			try {
+				AtomicReferenceArray<Node<K, V>> tab = table;
+				int index = hash & (tab.length() - 1);
+				Node<K, V> head = tab.get(index);
+				for (Node<K, V> node = head; node != null; node = node.next) {
+					if (node.hash == hash && (node.key == key || key.compareTo(node.key) == 0)) {
+						return false;
+					}
+				}
+				tab.set(index, new Node<K, V>(hash, key, value, head));
+				if (++count > threshold) {
+					rehash();
+				}
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		boolean delete(K key, int hash) {
+			lock.lock();
+			try {
+				AtomicReferenceArray<Node<K, V>> tab = table;
+				int index = hash & (tab.length() - 1);
+				Node<K, V> previous = null;
+				for (Node<K, V> node = tab.get(index); node != null; node = node.next) {
+					if (node.hash == hash && (node.key == key || key.compareTo(node.key) == 0)) {
+						// Readers standing on node still reach the rest of the chain
+						if (previous == null) {
+							tab.set(index, node.next);
+						} else {
+							previous.next = node.next;
+						}
+						count--;
+						return true;
+					}
+					previous = node;
+				}
+				return false;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/* Empties the segment and returns the number of nodes removed. */
+		int clear() {
+			lock.lock();
+			try {
+				int removed = count;
+				table = new AtomicReferenceArray<Node<K, V>>(table.length());
+				count = 0;
+				return removed;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/*
+		 * Doubles the table. Nodes are copied rather than relinked, so readers still
+		 * walking the old table see its chains unchanged. Called with the lock held.
+		 */
+		private void rehash() {
+			AtomicReferenceArray<Node<K, V>> oldTable = table;
+			int oldCapacity = oldTable.length();
+			if (oldCapacity >= (1 << 30)) {
+				return;
+			}
+			AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<Node<K, V>>(oldCapacity << 1);
+			int mask = newTable.length() - 1;
+			for (int i = 0; i < oldCapacity; i++) {
+				for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+					int index = node.hash & mask;
+					newTable.set(index, new Node<K, V>(node.hash, node.key, node.value, newTable.get(index)));
+				}
+			}
+			threshold = (int) (newTable.length() * LOAD_FACTOR);
+			table = newTable;
+		}
+	}
+
+	/*
+	 * KeyIteratorHelper class implements the method to iterate on dictionary and
+	 * retrieve keys in sorted order.
+	 */
+	protected class KeyIteratorHelper implements Iterator<K> {
+		private Node[] nodes;
+		private int index;
+
+		public KeyIteratorHelper() {
+			nodes = getSortedNodes();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < nodes.length;
+		}
+
+		@Override
+		public K next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (K) nodes[index++].key;
+		}
+	}
+
+	/*
+	 * ValueIteratorHelper class implements the methods to iterate on dictionary and
+	 * retrieve values. Values will be retrieved in sorted order of keys.
+	 */
+	protected class ValueIteratorHelper implements Iterator<V> {
+		private Node[] nodes;
+		private int index;
+
+		public ValueIteratorHelper() {
+			nodes = getSortedNodes();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < nodes.length;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (V) nodes[index++].value;
+		}
+	}
+}
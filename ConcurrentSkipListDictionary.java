@@ -0,0 +1,597 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Thread safe, ordered implementation of DictionaryADT built on a lock-free skip
+ * list. The bottom level is a sorted linked list of nodes holding the pairs;
+ * the levels above it are lists of index entries that point down to it. A node
+ * is deleted in three compare-and-sets: its value is replaced by REMOVED, a
+ * marker node is linked after it so that nothing can be inserted behind it, and
+ * it is unlinked from its predecessor. Any thread that comes across a node part
+ * way through a delete finishes the delete for it. Links are plain volatile
+ * fields updated through AtomicReferenceFieldUpdaters, so a compare-and-set
+ * allocates nothing, and searches start at the highest level in use rather
+ * than at a fixed height.
+ *
+ * add and delete never block one another, and getValue and contains take no
+ * lock; their only writes help unlink deleted nodes. Iteration walks the bottom
+ * level in key order and is weakly consistent: it never blocks writers, never
+ * throws ConcurrentModificationException, and reflects some of the updates
+ * made after it was created.
+ */
+public class ConcurrentSkipListDictionary<K extends Comparable<K>, V> implements DictionaryADT<K, V> {
+
+	/* Value of a deleted node. Values may be null, so null cannot mark one. */
+	private static final Object REMOVED = new Object();
+
+	/* Value of the bottom level head node, which holds no pair. */
+	private static final Object BASE_HEADER = new Object();
+
+	private static final AtomicReferenceFieldUpdater<ConcurrentSkipListDictionary, HeadIndex> HEAD = AtomicReferenceFieldUpdater
+			.newUpdater(ConcurrentSkipListDictionary.class, HeadIndex.class, "head");
+
+	private volatile HeadIndex<K, V> head = new HeadIndex<K, V>(new Node<K, V>(null, BASE_HEADER, null), null, null,
+			1);
+	private final LongAdder nodesCount = new LongAdder(); // Current nodes in dictionary
+
+	/*
+	 * Returns true if the dictionary has an object identified by key in it,
+	 * otherwise false.
+	 */
+	@Override
+	public boolean contains(K key) {
+		return findNode(key) != null;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the key is
+	 * a duplicate. Returns true if addition succeeded.
+	 */
+	@Override
+	public boolean add(K key, V value) {
+		Node<K, V> node;
+		outer: while (true) {
+			for (Node<K, V> b = findPredecessor(key), n = b.next;;) {
+				if (n != null) {
+					Node<K, V> f = n.next;
+					if (n != b.next) {
+						break; // Inconsistent read
+					}
+					Object v = n.value;
+					if (v == REMOVED) {
+						n.helpDelete(b, f);
+						break;
+					}
+					if (b.value == REMOVED || v == n) {
+						break; // b is deleted
+					}
+					int c = key.compareTo(n.key);
+					if (c > 0) {
+						b = n;
+						n = f;
+						continue;
+					}
+					if (c == 0) {
+						return false;
+					}
+				}
+				// The pair is in the dictionary once its node is linked on the bottom level
+				node = new Node<K, V>(key, value, n);
+				if (!b.casNext(n, node)) {
+					break;
+				}
+				break outer;
+			}
+		}
+		nodesCount.increment();
+		int level = randomLevel();
+		if (level > 0) {
+			addIndex(node, level);
+		}
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	@Override
+	public boolean delete(K key) {
+		outer: while (true) {
+			for (Node<K, V> b = findPredecessor(key), n = b.next;;) {
+				if (n == null) {
+					break outer;
+				}
+				Node<K, V> f = n.next;
+				if (n != b.next) {
+					break;
+				}
+				Object v = n.value;
+				if (v == REMOVED) {
+					n.helpDelete(b, f);
+					break;
+				}
+				if (b.value == REMOVED || v == n) {
+					break;
+				}
+				int c = key.compareTo(n.key);
+				if (c < 0) {
+					break outer;
+				}
+				if (c > 0) {
+					b = n;
+					n = f;
+					continue;
+				}
+				// Whoever replaces the value owns the delete
+				if (!n.casValue(v, REMOVED)) {
+					break;
+				}
+				if (!n.appendMarker(f) || !b.casNext(n, f)) {
+					findNode(key); // Retry the unlinking through findNode
+				} else {
+					findPredecessor(key); // Unlinks the index entries of the node
+					if (head.right == null) {
+						tryReduceLevel();
+					}
+				}
+				nodesCount.decrement();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Returns the value associated with the parameter key. Returns null if the key
+	 * is not found or the dictionary is empty.
+	 */
+	@Override
+	public V getValue(K key) {
+		Node<K, V> node = findNode(key);
+		if (node == null) {
+			return null;
+		}
+		Object v = node.value;
+		return (v == REMOVED) ? null : (V) v;
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the smallest such key.
+	 */
+	@Override
+	public K getKey(V value) {
+		for (Node<K, V> node = nextLive(head.node); node != null; node = nextLive(node)) {
+			Object v = node.value;
+			if (v != REMOVED && ((Comparable<V>) v).compareTo(value) == 0) {
+				return node.key;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary.
+	 * The count is exact when no update is in progress.
+	 */
+	@Override
+	public int size() {
+		return nodesCount.intValue();
+	}
+
+	/* Returns false as the dictionary grows instead of becoming full */
+	@Override
+	public boolean isFull() {
+		return false;
+	}
+
+	/* Returns true if the dictionary is empty */
+	@Override
+	public boolean isEmpty() {
+		return nextLive(head.node) == null;
+	}
+
+	/*
+	 * Returns the dictionary to an empty state by deleting each key in turn, so
+	 * keys added concurrently may survive.
+	 */
+	@Override
+	public void clear() {
+		for (Node<K, V> node = nextLive(head.node); node != null; node = nextLive(node)) {
+			delete(node.key);
+		}
+	}
+
+	/*
+	 * Returns a weakly consistent Iterator of the keys in the dictionary, in
+	 * ascending sorted order.
+	 */
+	@Override
+	public Iterator<K> keys() {
+		return new RangeIteratorHelper<K>(null, null, true);
+	}
+
+	/*
+	 * Returns a weakly consistent Iterator of the values in the dictionary, in
+	 * ascending order of their keys.
+	 */
+	@Override
+	public Iterator<V> values() {
+		return new RangeIteratorHelper<V>(null, null, false);
+	}
+
+	/*
+	 * Returns a weakly consistent Iterator of the keys from fromKey inclusive to
+	 * toKey exclusive, in sorted order. A null bound leaves that end open.
+	 */
+	public Iterator<K> range(K fromKey, K toKey) {
+		return new RangeIteratorHelper<K>(fromKey, toKey, true);
+	}
+
+	/*
+	 * Returns a weakly consistent Iterator of the values whose keys lie in the same
+	 * range as range(fromKey, toKey), in sorted order of keys.
+	 */
+	public Iterator<V> rangeValues(K fromKey, K toKey) {
+		return new RangeIteratorHelper<V>(fromKey, toKey, false);
+	}
+
+	/*
+	 * Method picks the number of index levels for a new node: none for three
+	 * nodes in four, then one more level for every further coin flip won.
+	 */
+	private static int randomLevel() {
+		int random = ThreadLocalRandom.current().nextInt();
+		if ((random & 0x80000001) != 0) {
+			return 0;
+		}
+		int level = 1;
+		while (((random >>>= 1) & 1) != 0) {
+			level++;
+		}
+		return level;
+	}
+
+	/*
+	 * Method links index entries for node on the given number of levels. A level
+	 * above the current top adds one level to the head, so the list grows by at
+	 * most one level per add.
+	 */
+	private void addIndex(Node<K, V> node, int level) {
+		K key = node.key;
+		HeadIndex<K, V> h = head;
+		Index<K, V> idx = null;
+		if (level <= h.level) {
+			for (int i = 1; i <= level; i++) {
+				idx = new Index<K, V>(node, idx, null);
+			}
+		} else {
+			level = h.level + 1;
+			Index<K, V>[] idxs = new Index[level + 1];
+			for (int i = 1; i <= level; i++) {
+				idxs[i] = idx = new Index<K, V>(node, idx, null);
+			}
+			while (true) {
+				h = head;
+				int oldLevel = h.level;
+				if (level <= oldLevel) {
+					break; // Another add raised the head first
+				}
+				HeadIndex<K, V> newHead = h;
+				for (int j = oldLevel + 1; j <= level; j++) {
+					newHead = new HeadIndex<K, V>(h.node, newHead, idxs[j], j);
+				}
+				if (HEAD.compareAndSet(this, h, newHead)) {
+					h = newHead;
+					idx = idxs[level = oldLevel];
+					break;
+				}
+			}
+		}
+		// Link the entries top down, from the level of idx to the bottom
+		splice: for (int insertionLevel = level;;) {
+			int j = h.level;
+			for (Index<K, V> q = h, r = q.right, t = idx;;) {
+				if (q == null || t == null) {
+					break splice;
+				}
+				if (r != null) {
+					Node<K, V> n = r.node;
+					int c = key.compareTo(n.key);
+					if (n.value == REMOVED) {
+						if (!q.unlink(r)) {
+							break;
+						}
+						r = q.right;
+						continue;
+					}
+					if (c > 0) {
+						q = r;
+						r = r.right;
+						continue;
+					}
+				}
+				if (j == insertionLevel) {
+					if (!q.link(r, t)) {
+						break; // Restart
+					}
+					if (t.node.value == REMOVED) {
+						findNode(key); // The node was deleted meanwhile; clean up
+						break splice;
+					}
+					if (--insertionLevel == 0) {
+						break splice;
+					}
+				}
+				if (--j >= insertionLevel && j < level) {
+					t = t.down;
+				}
+				q = q.down;
+				r = q.right;
+			}
+		}
+	}
+
+	/*
+	 * Method returns the bottom level node that precedes key, using the index
+	 * levels to get there and unlinking index entries of deleted nodes on the
+	 * way. The node returned may itself have been deleted since.
+	 */
+	private Node<K, V> findPredecessor(K key) {
+		while (true) {
+			for (Index<K, V> q = head, r = q.right;;) {
+				if (r != null) {
+					Node<K, V> n = r.node;
+					if (n.value == REMOVED) {
+						if (!q.unlink(r)) {
+							break; // Restart
+						}
+						r = q.right;
+						continue;
+					}
+					if (key.compareTo(n.key) > 0) {
+						q = r;
+						r = r.right;
+						continue;
+					}
+				}
+				Index<K, V> d = q.down;
+				if (d == null) {
+					return q.node;
+				}
+				q = d;
+				r = d.right;
+			}
+		}
+	}
+
+	/*
+	 * Method returns the live node holding key, or null, helping to unlink any
+	 * deleted node it meets on the bottom level.
+	 */
+	private Node<K, V> findNode(K key) {
+		outer: while (true) {
+			for (Node<K, V> b = findPredecessor(key), n = b.next;;) {
+				if (n == null) {
+					break outer;
+				}
+				Node<K, V> f = n.next;
+				if (n != b.next) {
+					break;
+				}
+				Object v = n.value;
+				if (v == REMOVED) {
+					n.helpDelete(b, f);
+					break;
+				}
+				if (b.value == REMOVED || v == n) {
+					break;
+				}
+				int c = key.compareTo(n.key);
+				if (c == 0) {
+					return n;
+				}
+				if (c < 0) {
+					break outer;
+				}
+				b = n;
+				n = f;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Method returns the first live node whose key is not less than key.
+	 */
+	private Node<K, V> findCeiling(K key) {
+		Node<K, V> node = nextLive(findPredecessor(key));
+		while (node != null && key.compareTo(node.key) > 0) {
+			node = nextLive(node);
+		}
+		return node;
+	}
+
+	/*
+	 * Method returns the next live node on the bottom level, skipping markers and
+	 * deleted nodes. Performs no writes.
+	 */
+	private Node<K, V> nextLive(Node<K, V> node) {
+		Node<K, V> next = node.next;
+		while (next != null && (next.value == REMOVED || next.isMarker())) {
+			next = next.next;
+		}
+		return next;
+	}
+
+	/*
+	 * Method drops the top level of the head once the three top levels are empty.
+	 * If an add links an entry on the dropped level at the same time, the level
+	 * is put back.
+	 */
+	private void tryReduceLevel() {
+		HeadIndex<K, V> h = head;
+		HeadIndex<K, V> d;
+		HeadIndex<K, V> e;
+		if (h.level > 3 && (d = (HeadIndex<K, V>) h.down) != null && (e = (HeadIndex<K, V>) d.down) != null
+				&& e.right == null && d.right == null && h.right == null && HEAD.compareAndSet(this, h, d)
+				&& h.right != null) {
+			HEAD.compareAndSet(this, d, h);
+		}
+	}
+
+	/*
+	 * Node is an entry of the bottom level. A node whose value is the node itself
+	 * is a marker, linked after a deleted node to fix its next link.
+	 */
+	private static final class Node<K, V> {
+		private static final AtomicReferenceFieldUpdater<Node, Object> VALUE = AtomicReferenceFieldUpdater
+				.newUpdater(Node.class, Object.class, "value");
+		private static final AtomicReferenceFieldUpdater<Node, Node> NEXT = AtomicReferenceFieldUpdater
+				.newUpdater(Node.class, Node.class, "next");
+
+		final K key;
+		volatile Object value;
+		volatile Node<K, V> next;
+
+		Node(K key, Object value, Node<K, V> next) {
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+
+		/* Creates a marker in front of next. */
+		Node(Node<K, V> next) {
+			this.key = null;
+			this.value = this;
+			this.next = next;
+		}
+
+		boolean casValue(Object expected, Object update) {
+			return VALUE.compareAndSet(this, expected, update);
+		}
+
+		boolean casNext(Node<K, V> expected, Node<K, V> update) {
+			return NEXT.compareAndSet(this, expected, update);
+		}
+
+		boolean isMarker() {
+			return value == this;
+		}
+
+		/* Links a marker between this deleted node and its successor f. */
+		boolean appendMarker(Node<K, V> f) {
+			return casNext(f, new Node<K, V>(f));
+		}
+
+		/*
+		 * Advances the delete of this node, whose predecessor is b and successor f,
+		 * by linking its marker or, if that is done, unlinking it from b.
+		 */
+		void helpDelete(Node<K, V> b, Node<K, V> f) {
+			if (f == next && this == b.next) {
+				if (f == null || f.value != f) {
+					casNext(f, new Node<K, V>(f));
+				} else {
+					b.casNext(this, f.next);
+				}
+			}
+		}
+	}
+
+	/* Index is an entry of an upper level, pointing down to the level below. */
+	private static class Index<K, V> {
+		private static final AtomicReferenceFieldUpdater<Index, Index> RIGHT = AtomicReferenceFieldUpdater
+				.newUpdater(Index.class, Index.class, "right");
+
+		final Node<K, V> node;
+		final Index<K, V> down;
+		volatile Index<K, V> right;
+
+		Index(Node<K, V> node, Index<K, V> down, Index<K, V> right) {
+			this.node = node;
+			this.down = down;
+			this.right = right;
+		}
+
+		/* Links newSucc between this entry and succ, unless this node is deleted. */
+		boolean link(Index<K, V> succ, Index<K, V> newSucc) {
+			newSucc.right = succ;
+			return node.value != REMOVED && RIGHT.compareAndSet(this, succ, newSucc);
+		}
+
+		/* Unlinks succ from after this entry, unless this node is deleted. */
+		boolean unlink(Index<K, V> succ) {
+			return node.value != REMOVED && RIGHT.compareAndSet(this, succ, succ.right);
+		}
+	}
+
+	/* HeadIndex is the first entry of an upper level and records its level. */
+	private static final class HeadIndex<K, V> extends Index<K, V> {
+		final int level;
+
+		HeadIndex(Node<K, V> node, Index<K, V> down, Index<K, V> right, int level) {
+			super(node, down, right);
+			this.level = level;
+		}
+	}
+
+	/*
+	 * RangeIteratorHelper walks the bottom level from the first key not less than
+	 * fromKey, skipping deleted nodes, and stops at the first key not less than
+	 * toKey.
+	 */
+	protected class RangeIteratorHelper<T> implements Iterator<T> {
+		private Node<K, V> node;
+		private Object value;
+		private final K toKey;
+		private final boolean returnKeys;
+
+		public RangeIteratorHelper(K fromKey, K toKey, boolean returnKeys) {
+			this.toKey = toKey;
+			this.returnKeys = returnKeys;
+			advance((fromKey == null) ? nextLive(head.node) : findCeiling(fromKey));
+		}
+
+		/*
+		 * Moves to the first live node from candidate on, reading its value once so
+		 * that a delete racing with next cannot return REMOVED, and ends the
+		 * iteration once the node reaches toKey.
+		 */
+		private void advance(Node<K, V> candidate) {
+			while (candidate != null) {
+				value = candidate.value;
+				if (value != REMOVED) {
+					break;
+				}
+				candidate = nextLive(candidate);
+			}
+			node = candidate;
+			if (node != null && toKey != null && node.key.compareTo(toKey) >= 0) {
+				node = null;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return node != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Object result = returnKeys ? node.key : value;
+			advance(nextLive(node));
+			return (T) result;
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package data_structures;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * CountingBloomFilter answers whether a hash may have been added, with no false
+ * negatives and a false positive rate chosen at construction. Each hash maps to
+ * hashCount counters instead of bits, so a hash can be removed again by
+ * decrementing them. Counters saturate at 255 and are then never decremented,
+ * which can only add false positives. A Hashtable uses it through
+ * Hashtable.enableMembershipFilter to reject lookups of absent keys before
+ * reaching a bucket; the query counters tell how many misses it caught.
+ */
+public class CountingBloomFilter {
+
+	private static final int SATURATED = 0xFF;
+
+	private final byte[] counters;
+	private final int mask; // Counter count is a power of two
+	private final int hashCount;
+	private final int capacity; // Insertions the filter was sized for
+	private final double falsePositiveRate;
+	int count; // Hashes currently added
+
+	private final LongAdder queryCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder falsePositiveCount = new LongAdder();
+
+	/*
+	 * Constructor to size the filter so that, holding expectedInsertions hashes,
+	 * about falsePositiveRate of absent hashes pass mightContain.
+	 */
+	public CountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+		if (expectedInsertions < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException();
+		}
+		double ln2 = Math.log(2);
+		long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+		int size = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(64, bits)));
+		if (size < bits && size < (1 << 30)) {
+			size <<= 1;
+		}
+		counters = new byte[size];
+		mask = size - 1;
+		hashCount = (int) Math.max(1, Math.min(16, Math.round((double) bits / expectedInsertions * ln2)));
+		capacity = expectedInsertions;
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/* Adds hash to the filter. */
+	void add(int hash) {
+		long z = hash * 0x9E3779B97F4A7C15L;
+		int h1 = (int) (z >>> 32);
+		int h2 = getSecondHash(z);
+		for (int i = 0; i < hashCount; i++) {
+			int index = (h1 + i * h2) & mask;
+			if ((counters[index] & 0xFF) != SATURATED) {
+				counters[index]++;
+			}
+		}
+		count++;
+	}
+
+	/* Removes hash, which must have been added before, from the filter. */
+	void remove(int hash) {
+		long z = hash * 0x9E3779B97F4A7C15L;
+		int h1 = (int) (z >>> 32);
+		int h2 = getSecondHash(z);
+		for (int i = 0; i < hashCount; i++) {
+			int index = (h1 + i * h2) & mask;
+			int counter = counters[index] & 0xFF;
+			if (counter != SATURATED && counter != 0) {
+				counters[index]--;
+			}
+		}
+		count--;
+	}
+
+	/* Returns false if hash was definitely not added, otherwise true. */
+	boolean mightContain(int hash) {
+		long z = hash * 0x9E3779B97F4A7C15L;
+		int h1 = (int) (z >>> 32);
+		int h2 = getSecondHash(z);
+		for (int i = 0; i < hashCount; i++) {
+			if (counters[(h1 + i * h2) & mask] == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Method derives an odd second hash, so the probe sequence covers the table. */
+	private static int getSecondHash(long z) {
+		z = (z ^ (z >>> 31)) * 0xBF58476D1CE4E5B9L;
+		return (int) (z >>> 32) | 1;
+	}
+
+	/* Removes every hash from the filter, keeping the query counters. */
+	void clear() {
+		for (int i = 0; i < counters.length; i++) {
+			counters[i] = 0;
+		}
+		count = 0;
+	}
+
+	/* Returns true once more hashes are held than the filter was sized for. */
+	boolean isOverCapacity() {
+		return count > capacity;
+	}
+
+	void recordQuery(boolean rejected) {
+		queryCount.increment();
+		if (rejected) {
+			rejectedCount.increment();
+		}
+	}
+
+	void recordFalsePositive() {
+		falsePositiveCount.increment();
+	}
+
+	/* Returns the number of insertions the filter was sized for. */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/* Returns the false positive rate the filter was sized for. */
+	public double getFalsePositiveRate() {
+		return falsePositiveRate;
+	}
+
+	/* Returns the number of counters in the filter. */
+	public int getCounterCount() {
+		return counters.length;
+	}
+
+	/* Returns the number of lookups checked against the filter. */
+	public long getQueryCount() {
+		return queryCount.sum();
+	}
+
+	/* Returns the number of lookups the filter rejected as definite misses. */
+	public long getRejectedCount() {
+		return rejectedCount.sum();
+	}
+
+	/* Returns the number of lookups the filter passed whose key was absent. */
+	public long getFalsePositiveCount() {
+		return falsePositiveCount.sum();
+	}
+
+	/*
+	 * Returns the fraction of missing keys the filter rejected without a bucket
+	 * lookup, or 0 if no lookup has missed yet.
+	 */
+	public double getRejectionRatio() {
+		long rejected = rejectedCount.sum();
+		long misses = rejected + falsePositiveCount.sum();
+		return (misses == 0) ? 0.0 : (double) rejected / misses;
+	}
+
+	/* Method adds the query counters of another filter to this one. */
+	void copyCounters(CountingBloomFilter other) {
+		queryCount.add(other.queryCount.sum());
+		rejectedCount.add(other.rejectedCount.sum());
+		falsePositiveCount.add(other.falsePositiveCount.sum());
+	}
+
+	/* Sets the query counters back to zero. */
+	public void resetCounters() {
+		queryCount.reset();
+		rejectedCount.reset();
+		falsePositiveCount.reset();
+	}
+}
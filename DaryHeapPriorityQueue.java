@@ -0,0 +1,242 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * DaryHeapPriorityQueue is a min heap in which every node has arity children
+ * instead of two. The heap is log2(arity) times shallower than a binary heap,
+ * so remove moves an object through fewer levels, at the price of comparing up
+ * to arity children on each. The children of a node are adjacent in the array,
+ * so their references are read from neighbouring slots, but every comparison
+ * still loads the objects themselves from wherever they are on the heap; how
+ * much is gained over a binary heap depends on the objects and their
+ * compareTo, and benchmarks/PriorityQueueBenchmark measures it. Objects and
+ * their insertion numbers are kept in parallel arrays rather than in one
+ * Wrapper per object, and objects of equal priority are removed in the order
+ * they were inserted, as in BinaryHeapPriorityQueue.
+ *
+ * With the aligned layout the root is stored at index arity - 1, which puts
+ * each group of siblings at an index that is a multiple of arity. That aligns
+ * the groups only within the arrays of references and insertion numbers; it
+ * says nothing about where the objects compared are stored.
+ */
+public class DaryHeapPriorityQueue<E extends Comparable<E>> implements PriorityQueue<E> {
+
+	public static final int DEFAULT_ARITY = 4;
+
+	int currentSize = 0;
+	int maxSize = 0;
+	long entryNumber = 0;
+	private final Object[] heap;
+	private final long[] numbers; // Insertion number of the object at the same index
+	private final int shift; // log2(arity)
+	private final int arity;
+	private final int offset; // Array index of the root
+
+	public DaryHeapPriorityQueue() {
+		this(DEFAULT_MAX_CAPACITY, DEFAULT_ARITY, false);
+	}
+
+	public DaryHeapPriorityQueue(int maximumSize) {
+		this(maximumSize, DEFAULT_ARITY, false);
+	}
+
+	/*
+	 * Constructs a heap of the given arity, a power of two from 2 to 16; 4 and 8
+	 * suit most workloads. With aligned set, sibling groups start at multiples
+	 * of arity at the cost of arity - 1 unused leading slots.
+	 */
+	public DaryHeapPriorityQueue(int maximumSize, int arity, boolean aligned) {
+		if (maximumSize < 1 || arity < 2 || arity > 16 || Integer.bitCount(arity) != 1) {
+			throw new IllegalArgumentException();
+		}
+		this.maxSize = maximumSize;
+		this.arity = arity;
+		this.shift = Integer.numberOfTrailingZeros(arity);
+		this.offset = aligned ? arity - 1 : 0;
+		this.heap = new Object[maximumSize + offset];
+		this.numbers = new long[maximumSize + offset];
+	}
+
+	/*
+	 * Inserts a new object into the priority queue. Returns true if the insertion
+	 * is successful. If the PQ is full, the insertion is aborted, and the method
+	 * returns false.
+	 */
+	@Override
+	public boolean insert(E object) {
+		if (currentSize >= maxSize)
+			return false;
+		trickleUp(currentSize++, object, entryNumber++);
+		return true;
+	}
+
+	/*
+	 * Removes the object of highest priority that has been in the PQ the longest,
+	 * and returns it. Returns null if the PQ is empty.
+	 */
+	@Override
+	public E remove() {
+		if (currentSize == 0)
+			return null;
+		E returnedObject = (E) heap[offset];
+		int last = --currentSize;
+		if (last > 0)
+			trickleDown(0, (E) heap[offset + last], numbers[offset + last]);
+		heap[offset + last] = null;
+		return returnedObject;
+	}
+
+	/*
+	 * Deletes all instances of the parameter obj from the PQ if found, and returns
+	 * true. Returns false if no match to the parameter obj is found. The remaining
+	 * objects are compacted and the heap rebuilt bottom-up, so the cost is O(n)
+	 * however many instances match.
+	 */
+	@Override
+	public boolean delete(E obj) {
+		int kept = 0;
+		for (int i = 0; i < currentSize; i++) {
+			if (((E) heap[offset + i]).compareTo(obj) != 0) {
+				heap[offset + kept] = heap[offset + i];
+				numbers[offset + kept] = numbers[offset + i];
+				kept++;
+			}
+		}
+		if (kept == currentSize)
+			return false;
+		for (int i = kept; i < currentSize; i++) {
+			heap[offset + i] = null;
+		}
+		currentSize = kept;
+		for (int i = (currentSize - 2) >> shift; i >= 0; i--) {
+			trickleDown(i, (E) heap[offset + i], numbers[offset + i]);
+		}
+		return true;
+	}
+
+	/*
+	 * Returns the object of highest priority that has been in the PQ the longest,
+	 * but does NOT remove it. Returns null if the PQ is empty.
+	 */
+	@Override
+	public E peek() {
+		if (currentSize == 0)
+			return null;
+		return (E) heap[offset];
+	}
+
+	/*
+	 * Returns true if the priority queue contains the specified element false
+	 * otherwise.
+	 */
+	@Override
+	public boolean contains(E obj) {
+		for (int i = 0; i < currentSize; i++) {
+			if (heap[offset + i].equals(obj))
+				return true;
+		}
+		return false;
+	}
+
+	/* Returns the number of objects currently in the PQ. */
+	@Override
+	public int size() {
+		return currentSize;
+	}
+
+	/* Returns the PQ to an empty state. */
+	@Override
+	public void clear() {
+		for (int i = 0; i < currentSize; i++) {
+			heap[offset + i] = null;
+		}
+		currentSize = 0;
+	}
+
+	/* Returns true if the PQ is empty, otherwise false */
+	@Override
+	public boolean isEmpty() {
+		return currentSize == 0;
+	}
+
+	/* Returns true if the PQ is full, otherwise false. */
+	@Override
+	public boolean isFull() {
+		return currentSize == maxSize;
+	}
+
+	/* Returns the number of children per node. */
+	public int getArity() {
+		return arity;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new IteratorCustom();
+	}
+
+	private class IteratorCustom implements Iterator<E> {
+		int ptr = 0;
+
+		/* Returns true if another object is left in the heap array. */
+		public boolean hasNext() {
+			return ptr < currentSize;
+		}
+
+		/* Return the next object in iteration over the heap array. */
+		public E next() {
+			if (ptr >= currentSize)
+				throw new NoSuchElementException();
+			return (E) heap[offset + ptr++];
+		}
+	}
+
+	/* Returns true if the object at array index i is removed before the given one. */
+	private boolean isBefore(int i, E object, long number) {
+		int cmp = ((E) heap[i]).compareTo(object);
+		return cmp < 0 || (cmp == 0 && numbers[i] < number);
+	}
+
+	/*
+	 * Method places the given object at the hole at heap position index, moving
+	 * parents down until the object's parent comes before it.
+	 */
+	private void trickleUp(int index, E object, long number) {
+		while (index > 0) {
+			int parent = (index - 1) >> shift;
+			if (isBefore(offset + parent, object, number))
+				break;
+			heap[offset + index] = heap[offset + parent];
+			numbers[offset + index] = numbers[offset + parent];
+			index = parent;
+		}
+		heap[offset + index] = object;
+		numbers[offset + index] = number;
+	}
+
+	/*
+	 * Method places the given object at the hole at heap position index, moving
+	 * the earliest child up until the object comes before all of its children.
+	 */
+	private void trickleDown(int index, E object, long number) {
+		int lastParent = (currentSize - 2) >> shift;
+		while (index <= lastParent) {
+			int first = (index << shift) + 1;
+			int end = Math.min(first + arity, currentSize);
+			int best = first;
+			for (int child = first + 1; child < end; child++) {
+				if (isBefore(offset + child, (E) heap[offset + best], numbers[offset + best]))
+					best = child;
+			}
+			if (!isBefore(offset + best, object, number))
+				break;
+			heap[offset + index] = heap[offset + best];
+			numbers[offset + index] = numbers[offset + best];
+			index = best;
+		}
+		heap[offset + index] = object;
+		numbers[offset + index] = number;
+	}
+}
@@ -0,0 +1,81 @@
+package data_structures;
+
+import java.security.SecureRandom;
+
+/*
+ * Computes the hash a Hashtable uses to pick a key's bucket. Implement this
+ * interface to supply a cheaper or better distributed hash than the key's own
+ * hashCode, for instance for keys whose hashCode is costly to compute. The hash
+ * must be consistent with the keys' compareTo: keys that compare equal must
+ * hash equally.
+ */
+public interface HashStrategy<K> {
+
+	public int hash(K key);
+
+	/* Uses the key's hashCode unchanged. */
+	public static final HashStrategy<Object> IDENTITY = new HashStrategy<Object>() {
+		public int hash(Object key) {
+			return key.hashCode();
+		}
+	};
+
+	/*
+	 * Mixes every bit of the key's hashCode into every bit of the result, so that
+	 * masking off the low bits of a power of two table still sees the high bits.
+	 */
+	public static final HashStrategy<Object> SPREAD = new HashStrategy<Object>() {
+		public int hash(Object key) {
+			return SeededHashStrategy.mix(key.hashCode());
+		}
+	};
+
+	/*
+	 * Returns a strategy keyed with a random seed, for tables filled from
+	 * untrusted input. CharSequence keys are hashed from their characters, so
+	 * keys crafted to share a String hashCode are spread apart. Other keys mix the
+	 * seed into their hashCode, which hides the bucket layout but cannot separate
+	 * keys with equal hashCodes; those are left to the tree buckets.
+	 */
+	public static HashStrategy<Object> seeded() {
+		return new SeededHashStrategy(new SecureRandom().nextLong());
+	}
+
+	/* Returns a seeded strategy, as seeded() does, with the given seed. */
+	public static HashStrategy<Object> seeded(long seed) {
+		return new SeededHashStrategy(seed);
+	}
+
+	/* Seeded variant of the MurmurHash3 32-bit mixing steps. */
+	static final class SeededHashStrategy implements HashStrategy<Object> {
+		private final int seed;
+
+		SeededHashStrategy(long seed) {
+			this.seed = (int) (seed ^ (seed >>> 32));
+		}
+
+		public int hash(Object key) {
+			if (!(key instanceof CharSequence)) {
+				return mix(key.hashCode() ^ seed);
+			}
+			CharSequence chars = (CharSequence) key;
+			int h = seed;
+			for (int i = 0; i < chars.length(); i++) {
+				int k = chars.charAt(i) * 0xCC9E2D51;
+				k = Integer.rotateLeft(k, 15) * 0x1B873593;
+				h = Integer.rotateLeft(h ^ k, 13) * 5 + 0xE6546B64;
+			}
+			return mix(h ^ chars.length());
+		}
+
+		/* MurmurHash3 finalizer: every input bit affects every output bit. */
+		static int mix(int h) {
+			h ^= h >>> 16;
+			h *= 0x85EBCA6B;
+			h ^= h >>> 13;
+			h *= 0xC2B2AE35;
+			h ^= h >>> 16;
+			return h;
+		}
+	}
+}
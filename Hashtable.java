@@ -1,20 +1,143 @@
 package data_structures;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V> {
 
-	private LinkedListDS<DictionaryNode<K, V>>[] dictionaryList;
-	int tableSize; // HashTableMaximumSize
+	/* Default bucket count and load factor of a growable hashtable. */
+	public static final int DEFAULT_INITIAL_CAPACITY = 16;
+	public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+	/* Number of old buckets migrated to the new table per operation. */
+	private static final int REHASH_STEP = 4;
+
+	/*
+	 * A bucket holding more than TREEIFY_THRESHOLD nodes is turned into a
+	 * balanced tree ordered by key, and back into a list once it shrinks below
+	 * UNTREEIFY_THRESHOLD, so colliding keys cost O(log n) per lookup.
+	 */
+	static final int TREEIFY_THRESHOLD = 8;
+	static final int UNTREEIFY_THRESHOLD = 6;
+
+	private ListADT<DictionaryNode<K, V>>[] dictionaryList;
+	private ListADT<DictionaryNode<K, V>>[] oldDictionaryList; // Table being drained by a rehash
+	int rehashIndex; // Next bucket of oldDictionaryList to migrate
+	int tableSize; // Bucket count of dictionaryList
+	int maximumNodesCount; // HashTableMaximumSize
 	int currentNodesCount; // Current nodes in hashtable
+	boolean growable; // Table grows by load factor instead of becoming full
+	float loadFactor;
+	private HashStrategy<? super K> hashStrategy = HashStrategy.IDENTITY;
+	boolean powerOfTwo; // Bucket counts are powers of two and indexes are masked
+	private HashtableStatistics statistics; // Operation counters, null when disabled
+	private CountingBloomFilter membershipFilter; // Rejects absent keys, null when disabled
+	private LinkedListDS<DictionaryNode<K, V>>[] valueIndex; // Nodes bucketed by value, null when disabled
+
+	/*
+	 * Nodes in sorted order of keys as of the last sort, reused by keys() and
+	 * values() until the dictionary changes. Nodes added since then are kept in
+	 * addedNodes and deleted nodes are flagged, so a few changes are merged into
+	 * a new sorted array in linear time instead of sorting everything again.
+	 */
+	private DictionaryNode[] sortedNodes;
+	private DictionaryNode[] addedNodes;
+	int addedCount;
+	int removedCount;
 
 	// Constructor to initialize hash table
 	public Hashtable(int maximumSize) {
 		tableSize = maximumSize;
-		dictionaryList = new LinkedListDS[maximumSize];
-		for (int i = 0; i < maximumSize; i++) {
-			dictionaryList[i] = new LinkedListDS<DictionaryNode<K, V>>();
+		maximumNodesCount = maximumSize;
+		dictionaryList = new ListADT[maximumSize];
+	}
+
+	/*
+	 * Constructor to initialize hash table that hashes keys with hashStrategy.
+	 * With powerOfTwo the bucket count is rounded up to a power of two and the
+	 * bucket index is taken by masking the hash instead of dividing it, which
+	 * relies on the strategy to spread the hash into the low bits.
+	 */
+	public Hashtable(int maximumSize, HashStrategy<? super K> hashStrategy, boolean powerOfTwo) {
+		this(powerOfTwo ? getPowerOfTwo(maximumSize) : maximumSize);
+		this.maximumNodesCount = maximumSize;
+		this.hashStrategy = hashStrategy;
+		this.powerOfTwo = powerOfTwo;
+	}
+
+	/*
+	 * Constructor to initialize a growable hash table with the default capacity
+	 * and load factor.
+	 */
+	public Hashtable() {
+		this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+	}
+
+	/*
+	 * Constructor to initialize a growable hash table. The table never becomes
+	 * full; once the number of nodes exceeds initialCapacity * loadFactor the
+	 * bucket count doubles, and the existing buckets are migrated a few at a time
+	 * by subsequent operations so that no single call pays for the whole rehash.
+	 */
+	public Hashtable(int initialCapacity, float loadFactor) {
+		if (initialCapacity < 1 || !(loadFactor > 0)) {
+			throw new IllegalArgumentException();
+		}
+		this.tableSize = initialCapacity;
+		this.maximumNodesCount = Integer.MAX_VALUE;
+		this.growable = true;
+		this.loadFactor = loadFactor;
+		dictionaryList = new ListADT[initialCapacity];
+	}
+
+	/*
+	 * Constructor to initialize a growable hash table that hashes keys with
+	 * hashStrategy, optionally with power of two bucket counts as described for
+	 * Hashtable(int, HashStrategy, boolean).
+	 */
+	public Hashtable(int initialCapacity, float loadFactor, HashStrategy<? super K> hashStrategy, boolean powerOfTwo) {
+		this(powerOfTwo ? getPowerOfTwo(initialCapacity) : initialCapacity, loadFactor);
+		this.hashStrategy = hashStrategy;
+		this.powerOfTwo = powerOfTwo;
+	}
+
+	/*
+	 * Constructor to bulk load a growable hash table from parallel key and value
+	 * arrays. The bucket count is chosen once so that loading never rehashes.
+	 * When uniqueKeys is true the caller guarantees that no key repeats and the
+	 * per-key duplicate check is skipped; otherwise later duplicates are ignored
+	 * as add would.
+	 */
+	public Hashtable(K[] keys, V[] values, boolean uniqueKeys) {
+		this(keys, values, uniqueKeys, HashStrategy.IDENTITY, false);
+	}
+
+	/*
+	 * Constructor to bulk load a growable hash table, as Hashtable(K[], V[],
+	 * boolean) does, that hashes keys with hashStrategy and optionally uses
+	 * power of two bucket counts.
+	 */
+	public Hashtable(K[] keys, V[] values, boolean uniqueKeys, HashStrategy<? super K> hashStrategy,
+			boolean powerOfTwo) {
+		this((int) Math.min(Integer.MAX_VALUE / 2, (long) (keys.length / DEFAULT_LOAD_FACTOR) + 1),
+				DEFAULT_LOAD_FACTOR, hashStrategy, powerOfTwo);
+		if (keys.length != values.length) {
+			throw new IllegalArgumentException();
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if (uniqueKeys) {
+				addToBucket(new DictionaryNode<K, V>(keys[i], values[i]));
+				currentNodesCount++;
+			} else {
+				add(keys[i], values[i]);
+			}
 		}
 	}
 
@@ -24,11 +147,7 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 	 */
 	@Override
 	public boolean contains(K key) {
-		boolean result = false;
-		DictionaryNode<K, V> newNode = new DictionaryNode<K, V>(key, null);
-		int index = getHashCodeMod(key);
-		result = dictionaryList[index].contains(newNode);
-		return result;
+		return findNode(key, true) != null;
 	}
 
 	/*
@@ -38,14 +157,37 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 	 */
 	@Override
 	public boolean add(K key, V value) {
-		if (isFull() || contains(key)) {
+		if (isFull() || findNode(key, false) != null) {
 			return false;
 		}
+		insertNode(key, value);
+		return true;
+	}
+
+	/*
+	 * Method links a new node for a key known to be absent and updates the value
+	 * index, sorted cache, membership filter and statistics. Returns the node.
+	 */
+	private DictionaryNode<K, V> insertNode(K key, V value) {
 		DictionaryNode<K, V> newNode = new DictionaryNode<K, V>(key, value);
-		int index = getHashCodeMod(key);
-		dictionaryList[index].addFirst(newNode);
+		addToBucket(newNode);
 		currentNodesCount++;
-		return true;
+		if (valueIndex != null) {
+			addToValueIndex(newNode);
+		}
+		if (sortedNodes != null) {
+			trackAddedNode(newNode);
+		}
+		if (membershipFilter != null) {
+			addToMembershipFilter(key);
+		}
+		if (growable && oldDictionaryList == null && currentNodesCount > tableSize * loadFactor) {
+			startRehash();
+		}
+		if (statistics != null) {
+			statistics.recordAdd();
+		}
+		return newNode;
 	}
 
 	/*
@@ -54,17 +196,68 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 	 */
 	@Override
 	public boolean delete(K key) {
+		return removeNode(key) != null;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter and returns its
+	 * value. Returns null if the key is not found. Unlike getValue followed by
+	 * delete, the key is looked up only once.
+	 */
+	public V extract(K key) {
+		DictionaryNode<K, V> removedNode = removeNode(key);
+		if (removedNode == null) {
+			return null;
+		}
+		return removedNode.value;
+	}
+
+	/*
+	 * Method unlinks the node of the key and updates the value index, sorted
+	 * cache, membership filter and statistics. Returns the node, or null if the
+	 * key is not found.
+	 */
+	private DictionaryNode<K, V> removeNode(K key) {
 		if (currentNodesCount == 0) {
-			return false;
+			return null;
+		}
+		rehashStep();
+		ListADT<DictionaryNode<K, V>> bucket = getBucket(key);
+		if (bucket == null) {
+			return null;
 		}
 		DictionaryNode<K, V> newNode = new DictionaryNode<K, V>(key, null);
-		int index = getHashCodeMod(key);
-		boolean result = dictionaryList[index].remove(newNode);
-		if (result == false) {
-			return false;
+		DictionaryNode<K, V> removedNode = bucket.extract(newNode);
+		if (removedNode == null) {
+			return null;
+		}
+		finishRemove(bucket, removedNode);
+		return removedNode;
+	}
+
+	/*
+	 * Method finishes the removal of a node just extracted from bucket, updating
+	 * the count, value index, sorted cache, membership filter and statistics.
+	 */
+	private void finishRemove(ListADT<DictionaryNode<K, V>> bucket, DictionaryNode<K, V> removedNode) {
+		K key = removedNode.key;
+		if (bucket instanceof TreeBucketDS && bucket.size() < UNTREEIFY_THRESHOLD) {
+			untreeifyBucket(key);
 		}
 		currentNodesCount--;
-		return true;
+		removedNode.removed = true;
+		if (sortedNodes != null && ++removedCount > getMergeLimit()) {
+			invalidateSortedNodes();
+		}
+		if (valueIndex != null) {
+			valueIndex[getValueHashMod(removedNode.value, valueIndex.length)].remove(removedNode);
+		}
+		if (membershipFilter != null) {
+			membershipFilter.remove(hashStrategy.hash(key));
+		}
+		if (statistics != null) {
+			statistics.recordDelete();
+		}
 	}
 
 	/*
@@ -73,31 +266,219 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 	 */
 	@Override
 	public V getValue(K key) {
-		if (currentNodesCount == 0) {
-			return null;
-		}
-		DictionaryNode<K, V> newNode = new DictionaryNode<K, V>(key, null);
-		int index = getHashCodeMod(key);
-		DictionaryNode<K, V> resultNode = dictionaryList[index].find(newNode);
+		DictionaryNode<K, V> resultNode = findNode(key, true);
 		if (resultNode == null) {
 			return null;
 		}
 		return resultNode.value;
 	}
 
+	/*
+	 * Adds the key/value pair if the key is absent. Returns the value already
+	 * associated with the key, or null if the pair was added. Throws
+	 * IllegalStateException if the key is absent and the dictionary is full.
+	 * Unlike contains followed by add, the key is looked up only once.
+	 */
+	public V putIfAbsent(K key, V value) {
+		DictionaryNode<K, V> node = findNode(key, true);
+		if (node != null) {
+			return node.value;
+		}
+		checkNotFull();
+		insertNode(key, value);
+		return null;
+	}
+
+	/*
+	 * Replaces the value of key if it is present. Returns the previous value, or
+	 * null if the key is not found. The node is updated in place.
+	 */
+	public V replace(K key, V value) {
+		DictionaryNode<K, V> node = findNode(key, true);
+		if (node == null) {
+			return null;
+		}
+		V oldValue = node.value;
+		setNodeValue(node, value);
+		return oldValue;
+	}
+
+	/*
+	 * Returns the value of key, first adding the value computed by
+	 * mappingFunction if the key is absent. Nothing is added if the function
+	 * returns null, and null is returned. Throws IllegalStateException if a value
+	 * is to be added and the dictionary is full. The function must not modify
+	 * the dictionary.
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		DictionaryNode<K, V> node = findNode(key, true);
+		if (node != null) {
+			return node.value;
+		}
+		V value = mappingFunction.apply(key);
+		if (value == null) {
+			return null;
+		}
+		checkNotFull();
+		insertNode(key, value);
+		return value;
+	}
+
+	/*
+	 * Computes a new value for key from the key and its current value, or null
+	 * if it is absent. A null result deletes the key; otherwise the value is
+	 * stored, in place if the key was present. Returns the new value, or null if
+	 * the key ends up absent. Throws IllegalStateException if a value is to be
+	 * added and the dictionary is full. The function must not modify the
+	 * dictionary.
+	 */
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		rehashStep();
+		ListADT<DictionaryNode<K, V>> bucket = getBucket(key);
+		DictionaryNode<K, V> node = findNode(key, bucket, true);
+		V value = remappingFunction.apply(key, (node == null) ? null : node.value);
+		return storeComputedValue(key, bucket, node, value);
+	}
+
+	/*
+	 * Adds value for key if it is absent; otherwise stores the result of
+	 * remappingFunction applied to the current value and value, deleting the key
+	 * if the result is null. Counting is merge(word, 1, Integer::sum). Returns the
+	 * new value, or null if the key ends up absent. Throws IllegalStateException
+	 * if the key is absent and the dictionary is full. The function must not
+	 * modify the dictionary.
+	 */
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if (value == null) {
+			throw new NullPointerException();
+		}
+		rehashStep();
+		ListADT<DictionaryNode<K, V>> bucket = getBucket(key);
+		DictionaryNode<K, V> node = findNode(key, bucket, true);
+		V newValue = (node == null) ? value : remappingFunction.apply(node.value, value);
+		return storeComputedValue(key, bucket, node, newValue);
+	}
+
+	/*
+	 * Method stores the result of compute or merge for key, whose bucket and node
+	 * are given, the node being null if the key is absent. A present node whose
+	 * new value is null is unlinked from that bucket directly. Returns the value
+	 * now associated with key.
+	 */
+	private V storeComputedValue(K key, ListADT<DictionaryNode<K, V>> bucket, DictionaryNode<K, V> node, V value) {
+		if (node == null) {
+			if (value == null) {
+				return null;
+			}
+			checkNotFull();
+			insertNode(key, value);
+			return value;
+		}
+		if (value == null) {
+			bucket.extract(node);
+			finishRemove(bucket, node);
+			return null;
+		}
+		setNodeValue(node, value);
+		return value;
+	}
+
+	/* Method throws IllegalStateException if no more pairs can be added. */
+	private void checkNotFull() {
+		if (isFull()) {
+			throw new IllegalStateException("Dictionary is full");
+		}
+	}
+
+	/* Method sets the value of a node in place, moving it in the value index. */
+	private void setNodeValue(DictionaryNode<K, V> node, V value) {
+		if (valueIndex != null) {
+			valueIndex[getValueHashMod(node.value, valueIndex.length)].remove(node);
+			node.value = value;
+			linkValue(node);
+		} else {
+			node.value = value;
+		}
+	}
+
+	/*
+	 * Method returns the node holding the key, or null. With statistics enabled
+	 * and recordLookup set, the lookup and its probe length are counted. With the
+	 * membership filter enabled, a key the filter rejects is reported missing
+	 * without touching its bucket.
+	 */
+	private DictionaryNode<K, V> findNode(K key, boolean recordLookup) {
+		rehashStep();
+		return findNode(key, getBucket(key), recordLookup);
+	}
+
+	/* Method returns the node holding the key in bucket, as findNode(key, recordLookup). */
+	private DictionaryNode<K, V> findNode(K key, ListADT<DictionaryNode<K, V>> bucket, boolean recordLookup) {
+		if (membershipFilter != null) {
+			boolean rejected = !membershipFilter.mightContain(hashStrategy.hash(key));
+			membershipFilter.recordQuery(rejected);
+			if (rejected) {
+				if (recordLookup && statistics != null) {
+					statistics.recordLookup(0, false);
+				}
+				return null;
+			}
+		}
+		DictionaryNode<K, V> resultNode = null;
+		boolean counted = recordLookup && statistics != null;
+		if (bucket != null) {
+			DictionaryNode<K, V> newNode = new DictionaryNode<K, V>(key, null);
+			resultNode = counted ? bucket.find(newNode, statistics) : bucket.find(newNode);
+		} else if (counted) {
+			statistics.recordLookup(0, false);
+		}
+		if (resultNode == null && membershipFilter != null) {
+			membershipFilter.recordFalsePositive();
+		}
+		return resultNode;
+	}
+
 	/*
 	 * Returns the key associated with the parameter value. Returns null if the
 	 * value is not found in the dictionary. If more than one key exists that
-	 * matches the given value, returns the first one found.
+	 * matches the given value, returns the first one found. With the value index
+	 * enabled only the nodes sharing the value's bucket are compared.
 	 */
 	@Override
 	public K getKey(V value) {
 		if (currentNodesCount == 0) {
 			return null;
 		}
-		int dictionarySize = dictionaryList.length;
+		if (valueIndex != null) {
+			LinkedListDS<DictionaryNode<K, V>> bucket = valueIndex[getValueHashMod(value, valueIndex.length)];
+			if (bucket == null) {
+				return null;
+			}
+			for (DictionaryNode<K, V> node : bucket) {
+				if (((Comparable<V>) node.value).compareTo(value) == 0) {
+					return node.key;
+				}
+			}
+			return null;
+		}
+		K result = findKey(oldDictionaryList, value);
+		if (result == null) {
+			result = findKey(dictionaryList, value);
+		}
+		return result;
+	}
+
+	/* Method scans every bucket of the given table for a node holding value. */
+	private K findKey(ListADT<DictionaryNode<K, V>>[] table, V value) {
+		if (table == null) {
+			return null;
+		}
+		int dictionarySize = table.length;
 		for (int i = 0; i < dictionarySize; i++) {
-			Iterator<DictionaryNode<K, V>> itr = dictionaryList[i].iterator();
+			if (table[i] == null) {
+				continue;
+			}
+			Iterator<DictionaryNode<K, V>> itr = table[i].iterator();
 			while (itr.hasNext()) {
 				DictionaryNode<K, V> node = itr.next();
 				if (((Comparable<V>) node.value).compareTo(value) == 0) {
@@ -116,11 +497,14 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 		return currentNodesCount;
 	}
 
-	/* Returns true if the dictionary is at maximum capacity */
+	/*
+	 * Returns true if the dictionary is at maximum capacity. A growable
+	 * dictionary is never full.
+	 */
 	@Override
 	public boolean isFull() {
 		boolean result = false;
-		if (currentNodesCount == tableSize) {
+		if (currentNodesCount == maximumNodesCount) {
 			result = true;
 		}
 		return result;
@@ -132,34 +516,522 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 		if (currentNodesCount == 0) {
 			return true;
 		}
-		return false;
+		return false;
+	}
+
+	/* Returns the dictionary to an empty state, keeping its current bucket count. */
+	@Override
+	public void clear() {
+		for (int i = 0; i < tableSize; i++) {
+			dictionaryList[i] = null;
+		}
+		oldDictionaryList = null;
+		rehashIndex = 0;
+		currentNodesCount = 0;
+		invalidateSortedNodes();
+		if (valueIndex != null) {
+			valueIndex = new LinkedListDS[DEFAULT_INITIAL_CAPACITY];
+		}
+		if (membershipFilter != null) {
+			membershipFilter.clear();
+		}
+	}
+
+	/*
+	 * Enables the secondary index from values to keys, which add and delete keep
+	 * in sync from then on. getKey then hashes the value and scans a single
+	 * bucket instead of the whole dictionary. Values must provide a hashCode
+	 * consistent with their compareTo.
+	 */
+	public void enableValueIndex() {
+		if (valueIndex != null) {
+			return;
+		}
+		int size = DEFAULT_INITIAL_CAPACITY;
+		while (size < currentNodesCount) {
+			size <<= 1;
+		}
+		valueIndex = new LinkedListDS[size];
+		indexNodes(oldDictionaryList);
+		indexNodes(dictionaryList);
+	}
+
+	/* Disables the secondary value index and releases its memory. */
+	public void disableValueIndex() {
+		valueIndex = null;
+	}
+
+	/*
+	 * Enables the operation counters returned by getStatistics. While disabled,
+	 * each operation pays a single null check.
+	 */
+	public void enableStatistics() {
+		if (statistics == null) {
+			statistics = new HashtableStatistics();
+		}
+	}
+
+	/* Disables the operation counters. */
+	public void disableStatistics() {
+		statistics = null;
+	}
+
+	/* Returns the operation counters, or null if statistics are disabled. */
+	public HashtableStatistics getStatistics() {
+		return statistics;
+	}
+
+	/*
+	 * Enables a counting Bloom filter over the keys, which add and delete keep in
+	 * sync from then on. contains, getValue and the duplicate check of add then
+	 * skip the bucket for any key the filter rejects, which costs one hash and a
+	 * few counter reads instead of a chain walk when most lookups miss. The
+	 * filter is sized for expectedInsertions keys at falsePositiveRate and is
+	 * rebuilt at twice the size whenever the dictionary outgrows it.
+	 */
+	public void enableMembershipFilter(int expectedInsertions, double falsePositiveRate) {
+		membershipFilter = new CountingBloomFilter(Math.max(expectedInsertions, currentNodesCount),
+				falsePositiveRate);
+		fillMembershipFilter(oldDictionaryList);
+		fillMembershipFilter(dictionaryList);
+	}
+
+	/* Disables the membership filter and releases its memory. */
+	public void disableMembershipFilter() {
+		membershipFilter = null;
+	}
+
+	/* Returns the membership filter with its counters, or null if disabled. */
+	public CountingBloomFilter getMembershipFilter() {
+		return membershipFilter;
+	}
+
+	/*
+	 * Returns the chain-length histogram: element i is the number of buckets
+	 * holding exactly i nodes. Walks every bucket, so it is meant for occasional
+	 * scraping rather than the request path.
+	 */
+	public int[] getChainLengthHistogram() {
+		int[] histogram = new int[1];
+		for (int pass = 0; pass < 2; pass++) {
+			ListADT<DictionaryNode<K, V>>[] table = (pass == 0) ? dictionaryList : oldDictionaryList;
+			if (table == null) {
+				continue;
+			}
+			int start = (pass == 0) ? 0 : rehashIndex;
+			for (int i = start; i < table.length; i++) {
+				int length = (table[i] == null) ? 0 : table[i].size();
+				if (length >= histogram.length) {
+					int[] grown = new int[length + 1];
+					System.arraycopy(histogram, 0, grown, 0, histogram.length);
+					histogram = grown;
+				}
+				histogram[length]++;
+			}
+		}
+		return histogram;
+	}
+
+	/* Returns the number of nodes per bucket of the current table. */
+	public double getLoadFactor() {
+		return (double) currentNodesCount / tableSize;
+	}
+
+	/* Returns true if the secondary value index is enabled. */
+	public boolean isValueIndexEnabled() {
+		return valueIndex != null;
+	}
+
+	/*
+	 * Returns an Iterator of the keys in the dictionary, in sorted order. The
+	 * iterator walks the sorted nodes as they were when keys() was called, so
+	 * keys added or deleted afterwards are not seen.
+	 */
+	@Override
+	public Iterator<K> keys() {
+		return new KeyIteratorHelper();
+	}
+
+	/*
+	 * Returns an Iterator of the values in the dictionary, in sorted order of
+	 * keys. The iterator is weakly consistent: it walks the nodes as they were
+	 * when values() was called, so keys added or deleted afterwards are not
+	 * seen, but a value changed in place by replace, compute or merge in the
+	 * meantime is returned as it is when next() reaches it.
+	 */
+	@Override
+	public Iterator<V> values() {
+		return new ValueIteratorHelper();
+	}
+
+	/*
+	 * Returns an Iterator of the key/value pairs in the dictionary, in sorted
+	 * order of keys. Values are read from the stored nodes, not looked up again,
+	 * so the iterator is weakly consistent in the same way as values().
+	 */
+	public Iterator<Entry<K, V>> entries() {
+		return new EntryIteratorHelper();
+	}
+
+	/*
+	 * Returns an Iterator of the key/value pairs in the dictionary, in no
+	 * particular order. The buckets are walked in place, so nothing is copied or
+	 * sorted; the dictionary must not be used while the iterator is open, as any
+	 * operation may move nodes between buckets.
+	 */
+	public Iterator<Entry<K, V>> unsortedEntries() {
+		return new UnsortedEntryIteratorHelper();
+	}
+
+	/*
+	 * Returns a Spliterator of the key/value pairs in the dictionary, in no
+	 * particular order. It splits by ranges of buckets across both tables, so a
+	 * parallel stream divides the buckets between threads without copying. As
+	 * with unsortedEntries(), the dictionary must not be modified while it is in
+	 * use.
+	 */
+	public Spliterator<Entry<K, V>> spliterator() {
+		return new EntrySpliterator(currentNodesCount);
+	}
+
+	/* Returns a sequential Stream of the key/value pairs, in no particular order. */
+	public Stream<Entry<K, V>> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/* Returns a parallel Stream of the key/value pairs, split by bucket ranges. */
+	public Stream<Entry<K, V>> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/*
+	 * Method adds key to the membership filter, replacing the filter by one twice
+	 * the size once it holds more keys than it was sized for. The query counters
+	 * are carried over to the new filter.
+	 */
+	private void addToMembershipFilter(K key) {
+		membershipFilter.add(hashStrategy.hash(key));
+		if (membershipFilter.isOverCapacity()) {
+			CountingBloomFilter oldFilter = membershipFilter;
+			membershipFilter = new CountingBloomFilter((int) Math.min(Integer.MAX_VALUE / 2, 2L * currentNodesCount),
+					oldFilter.getFalsePositiveRate());
+			membershipFilter.copyCounters(oldFilter);
+			fillMembershipFilter(oldDictionaryList);
+			fillMembershipFilter(dictionaryList);
+		}
+	}
+
+	/* Method adds the key of every node of the given table to the membership filter. */
+	private void fillMembershipFilter(ListADT<DictionaryNode<K, V>>[] table) {
+		if (table == null) {
+			return;
+		}
+		for (int i = 0; i < table.length; i++) {
+			if (table[i] == null) {
+				continue;
+			}
+			for (DictionaryNode<K, V> node : table[i]) {
+				membershipFilter.add(hashStrategy.hash(node.key));
+			}
+		}
+	}
+
+	/* Method returns index of the key in hashtable basis on hashcode. */
+	private int getHashCodeMod(K key) {
+		return getHashCodeMod(key, tableSize);
+	}
+
+	/* Method returns index of the key in a table of the given bucket count. */
+	private int getHashCodeMod(K key, int size) {
+		int hash = hashStrategy.hash(key);
+		if (powerOfTwo) {
+			return hash & (size - 1);
+		}
+		int index = (hash & 0x7FFFFFFF) % size;
+		return index;
+	}
+
+	/* Method returns the smallest power of two not less than size. */
+	private static int getPowerOfTwo(int size) {
+		if (size < 1 || size > (1 << 30)) {
+			throw new IllegalArgumentException();
+		}
+		int powerOfTwo = Integer.highestOneBit(size);
+		if (powerOfTwo < size) {
+			powerOfTwo <<= 1;
+		}
+		return powerOfTwo;
+	}
+
+	/*
+	 * Method returns the nodes of the dictionary in sorted order of keys. The
+	 * returned array is never modified afterwards, so iterators can hold on to it.
+	 * Arrays.sort merges runs that are already in order, such as the buckets of
+	 * sequential keys, in linear time and without deep recursion.
+	 */
+	private DictionaryNode[] getSortedNodes() {
+		if (sortedNodes == null) {
+			DictionaryNode[] nodes = new DictionaryNode[currentNodesCount];
+			int j = copyNodes(dictionaryList, nodes, 0);
+			copyNodes(oldDictionaryList, nodes, j);
+			Arrays.sort(nodes);
+			sortedNodes = nodes;
+			addedNodes = new DictionaryNode[8];
+		} else if (addedCount > 0 || removedCount > 0) {
+			sortedNodes = mergeSortedNodes();
+		}
+		addedCount = 0;
+		removedCount = 0;
+		return sortedNodes;
+	}
+
+	/*
+	 * Method sorts the nodes added since the last sort and merges them with
+	 * sortedNodes, dropping every node deleted in the meantime.
+	 */
+	private DictionaryNode[] mergeSortedNodes() {
+		DictionaryNode[] added = new DictionaryNode[addedCount];
+		int addedLength = 0;
+		for (int i = 0; i < addedCount; i++) {
+			if (!addedNodes[i].removed) {
+				added[addedLength++] = addedNodes[i];
+			}
+			addedNodes[i] = null;
+		}
+		Arrays.sort(added, 0, addedLength);
+		DictionaryNode[] merged = new DictionaryNode[currentNodesCount];
+		int i = 0, j = 0, k = 0;
+		while (i < sortedNodes.length) {
+			DictionaryNode<K, V> node = sortedNodes[i];
+			if (node.removed) {
+				i++;
+			} else if (j < addedLength && added[j].compareTo(node) < 0) {
+				merged[k++] = added[j++];
+			} else {
+				merged[k++] = node;
+				i++;
+			}
+		}
+		while (j < addedLength) {
+			merged[k++] = added[j++];
+		}
+		return merged;
+	}
+
+	/* Method records a node added while the sorted nodes are cached. */
+	private void trackAddedNode(DictionaryNode<K, V> node) {
+		if (addedCount >= getMergeLimit()) {
+			invalidateSortedNodes();
+			return;
+		}
+		if (addedCount == addedNodes.length) {
+			DictionaryNode[] grown = new DictionaryNode[addedCount * 2];
+			for (int i = 0; i < addedCount; i++) {
+				grown[i] = addedNodes[i];
+			}
+			addedNodes = grown;
+		}
+		addedNodes[addedCount++] = node;
+	}
+
+	/*
+	 * Method returns the number of changes above which merging is no cheaper
+	 * than sorting the whole dictionary again.
+	 */
+	private int getMergeLimit() {
+		return Math.max(8, sortedNodes.length / 8);
+	}
+
+	/* Method drops the cached sorted nodes and the changes recorded since. */
+	private void invalidateSortedNodes() {
+		sortedNodes = null;
+		addedNodes = null;
+		addedCount = 0;
+		removedCount = 0;
+	}
+
+	/* Method copies the nodes of every bucket of table into nodes starting at j. */
+	private int copyNodes(ListADT<DictionaryNode<K, V>>[] table, DictionaryNode[] nodes, int j) {
+		if (table == null) {
+			return j;
+		}
+		for (int i = 0; i < table.length; i++) {
+			if (table[i] == null) {
+				continue;
+			}
+			for (DictionaryNode node : table[i]) {
+				nodes[j] = node;
+				j++;
+			}
+		}
+		return j;
+	}
+
+	/* Method returns index of the value in a value index of the given size. */
+	private int getValueHashMod(V value, int size) {
+		if (value == null) {
+			return 0;
+		}
+		return (value.hashCode() & 0x7FFFFFFF) % size;
+	}
+
+	/* Method adds the node to the value index, doubling the index when needed. */
+	private void addToValueIndex(DictionaryNode<K, V> node) {
+		if (currentNodesCount > valueIndex.length) {
+			LinkedListDS<DictionaryNode<K, V>>[] oldIndex = valueIndex;
+			valueIndex = new LinkedListDS[oldIndex.length * 2];
+			for (int i = 0; i < oldIndex.length; i++) {
+				if (oldIndex[i] == null) {
+					continue;
+				}
+				for (DictionaryNode<K, V> indexed : oldIndex[i]) {
+					linkValue(indexed);
+				}
+			}
+		}
+		linkValue(node);
+	}
+
+	/* Method links the node into its value index bucket. */
+	private void linkValue(DictionaryNode<K, V> node) {
+		int index = getValueHashMod(node.value, valueIndex.length);
+		if (valueIndex[index] == null) {
+			valueIndex[index] = new LinkedListDS<DictionaryNode<K, V>>();
+		}
+		valueIndex[index].addFirst(node);
+	}
+
+	/* Method links every node of the given table into the value index. */
+	private void indexNodes(ListADT<DictionaryNode<K, V>>[] table) {
+		if (table == null) {
+			return;
+		}
+		for (int i = 0; i < table.length; i++) {
+			if (table[i] == null) {
+				continue;
+			}
+			for (DictionaryNode<K, V> node : table[i]) {
+				linkValue(node);
+			}
+		}
+	}
+
+	/*
+	 * Method returns the bucket that holds the key, or null if that bucket has
+	 * never been used. While a rehash is in progress, keys whose old bucket has
+	 * not been migrated yet still live in oldDictionaryList.
+	 */
+	private ListADT<DictionaryNode<K, V>> getBucket(K key) {
+		if (oldDictionaryList != null) {
+			int oldIndex = getHashCodeMod(key, oldDictionaryList.length);
+			if (oldIndex >= rehashIndex) {
+				return oldDictionaryList[oldIndex];
+			}
+		}
+		return dictionaryList[getHashCodeMod(key)];
+	}
+
+	/* Method adds the node to the bucket that holds its key. */
+	private void addToBucket(DictionaryNode<K, V> node) {
+		if (oldDictionaryList != null) {
+			int oldIndex = getHashCodeMod(node.key, oldDictionaryList.length);
+			if (oldIndex >= rehashIndex) {
+				addToBucket(oldDictionaryList, oldIndex, node);
+				return;
+			}
+		}
+		addToBucket(dictionaryList, getHashCodeMod(node.key), node);
+	}
+
+	/*
+	 * Method adds the node to the given bucket, creating the bucket if needed and
+	 * turning it into a tree once it holds more than TREEIFY_THRESHOLD nodes.
+	 */
+	private void addToBucket(ListADT<DictionaryNode<K, V>>[] table, int index, DictionaryNode<K, V> node) {
+		ListADT<DictionaryNode<K, V>> bucket = table[index];
+		if (bucket == null) {
+			bucket = new LinkedListDS<DictionaryNode<K, V>>();
+			table[index] = bucket;
+		}
+		bucket.addFirst(node);
+		if (bucket instanceof LinkedListDS && bucket.size() > TREEIFY_THRESHOLD) {
+			TreeBucketDS<DictionaryNode<K, V>> tree = new TreeBucketDS<DictionaryNode<K, V>>();
+			for (DictionaryNode<K, V> bucketNode : bucket) {
+				tree.addLast(bucketNode);
+			}
+			table[index] = tree;
+		}
+	}
+
+	/* Method turns the tree bucket holding the key back into a list. */
+	private void untreeifyBucket(K key) {
+		ListADT<DictionaryNode<K, V>>[] table = dictionaryList;
+		int index = getHashCodeMod(key);
+		if (oldDictionaryList != null) {
+			int oldIndex = getHashCodeMod(key, oldDictionaryList.length);
+			if (oldIndex >= rehashIndex) {
+				table = oldDictionaryList;
+				index = oldIndex;
+			}
+		}
+		LinkedListDS<DictionaryNode<K, V>> list = new LinkedListDS<DictionaryNode<K, V>>();
+		for (DictionaryNode<K, V> node : table[index]) {
+			list.addLast(node);
+		}
+		table[index] = list;
 	}
 
-	@Override
-	public void clear() {
-		// TODO Auto-generated method stub
-
+	/*
+	 * Method allocates a table with twice the bucket count and makes the current
+	 * table the one being drained. The nodes themselves are moved by rehashStep.
+	 */
+	private void startRehash() {
+		if (tableSize > Integer.MAX_VALUE / 2) {
+			return;
+		}
+		oldDictionaryList = dictionaryList;
+		rehashIndex = 0;
+		tableSize = tableSize * 2;
+		dictionaryList = new ListADT[tableSize];
+		if (statistics != null) {
+			statistics.recordRehash();
+		}
+		rehashStep();
 	}
 
-	@Override
-	public Iterator<K> keys() {
-		return new KeyIteratorHelper();
+	/* Method migrates up to REHASH_STEP buckets of oldDictionaryList. */
+	private void rehashStep() {
+		if (oldDictionaryList == null) {
+			return;
+		}
+		int end = Math.min(rehashIndex + REHASH_STEP, oldDictionaryList.length);
+		for (; rehashIndex < end; rehashIndex++) {
+			ListADT<DictionaryNode<K, V>> bucket = oldDictionaryList[rehashIndex];
+			if (bucket == null) {
+				continue;
+			}
+			for (DictionaryNode<K, V> node : bucket) {
+				addToBucket(dictionaryList, getHashCodeMod(node.key), node);
+			}
+			oldDictionaryList[rehashIndex] = null;
+		}
+		if (rehashIndex == oldDictionaryList.length) {
+			oldDictionaryList = null;
+			rehashIndex = 0;
+		}
 	}
 
-	@Override
-	public Iterator<V> values() {
-		return new ValueIteratorHelper();
-	}
+	/* Key/value pair returned by the entry iterators. */
+	public interface Entry<K, V> {
+		public K getKey();
 
-	/* Method returns index of the key in hashtable basis on hashcode. */
-	private int getHashCodeMod(K key) {
-		int index = (key.hashCode() & 0x7FFFFFFF) % tableSize;
-		return index;
+		public V getValue();
 	}
 
-	private class DictionaryNode<K, V> implements Comparable<DictionaryNode<K, V>> {
+	private class DictionaryNode<K, V> implements Comparable<DictionaryNode<K, V>>, Entry<K, V> {
 		K key;
 		V value;
+		boolean removed; // Set once the node is deleted from the dictionary
 
 		/* Constructor to initialize Dictionary Node. */
 		public DictionaryNode(K key, V value) {
@@ -170,6 +1042,14 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 		public int compareTo(DictionaryNode<K, V> node) {
 			return ((Comparable<K>) key).compareTo((K) node.key);
 		}
+
+		public K getKey() {
+			return key;
+		}
+
+		public V getValue() {
+			return value;
+		}
 	}
 
 	/*
@@ -181,59 +1061,13 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 		private int index;
 
 		public KeyIteratorHelper() {
-			/*
-			 * Create dictionaryNodes array of size equal to nodes in dictionary.
-			 */
-			dictionaryNodes = new DictionaryNode[currentNodesCount];
+			dictionaryNodes = getSortedNodes();
 			index = 0;
-			int j = 0;
-			for (int i = 0; i < tableSize; i++) {
-				for (DictionaryNode node : dictionaryList[i]) {
-					dictionaryNodes[j] = node;
-					j++;
-				}
-			}
-			/* Sort dictionaryNodes array to retrieve keys in sorted order. */
-			quickSort(0, (dictionaryNodes.length - 1));
-		}
-
-		private void quickSort(int left, int right) {
-			if (right - left <= 0) {
-				return;
-			}
-			DictionaryNode<K, V> pivot = dictionaryNodes[right];
-			int partition = getPartition(left, right, pivot);
-			quickSort(left, partition - 1);
-			quickSort(partition + 1, right);
-		}
-
-		private int getPartition(int left, int right, DictionaryNode<K, V> pivot) {
-			int lptr = left - 1;
-			int rptr = right;
-			for (;;) {
-				while (dictionaryNodes[++lptr].compareTo(pivot) < 0)
-					;
-				while (rptr > 0 && (dictionaryNodes[--rptr].compareTo(pivot) > 0))
-					;
-				if (lptr >= rptr) {
-					break;
-				} else {
-					swap(lptr, rptr);
-				}
-			}
-			swap(lptr, right);
-			return lptr;
-		}
-
-		private void swap(int lptr, int rptr) {
-			DictionaryNode<K, V> temp = dictionaryNodes[lptr];
-			dictionaryNodes[lptr] = dictionaryNodes[rptr];
-			dictionaryNodes[rptr] = temp;
 		}
 
 		@Override
 		public boolean hasNext() {
-			return (index < currentNodesCount);
+			return (index < dictionaryNodes.length);
 		}
 
 		@Override
@@ -252,21 +1086,181 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 	 * retrieve values. Values will be retrieved in sorted order of keys.
 	 */
 	protected class ValueIteratorHelper implements Iterator<V> {
-		Iterator<K> itr;
+		private DictionaryNode[] dictionaryNodes;
+		private int index;
 
 		public ValueIteratorHelper() {
-			// get the iterator on keys
-			itr = keys();
+			dictionaryNodes = getSortedNodes();
 		}
 
 		@Override
 		public boolean hasNext() {
-			return itr.hasNext();
+			return (index < dictionaryNodes.length);
 		}
 
 		@Override
 		public V next() {
-			return getValue(itr.next());
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			V currentValue = (V) dictionaryNodes[index].value;
+			index++;
+			return currentValue;
+		}
+	}
+
+	/*
+	 * EntryIteratorHelper class implements the methods to iterate on dictionary
+	 * and retrieve key/value pairs in sorted order of keys.
+	 */
+	protected class EntryIteratorHelper implements Iterator<Entry<K, V>> {
+		private DictionaryNode[] dictionaryNodes;
+		private int index;
+
+		public EntryIteratorHelper() {
+			dictionaryNodes = getSortedNodes();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (index < dictionaryNodes.length);
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Entry<K, V> currentEntry = dictionaryNodes[index];
+			index++;
+			return currentEntry;
+		}
+	}
+
+	/*
+	 * UnsortedEntryIteratorHelper class walks the buckets of oldDictionaryList
+	 * and then dictionaryList, returning the nodes in bucket order.
+	 */
+	protected class UnsortedEntryIteratorHelper implements Iterator<Entry<K, V>> {
+		private ListADT<DictionaryNode<K, V>>[] table;
+		private int bucketIndex;
+		private Iterator<DictionaryNode<K, V>> bucketItr;
+
+		public UnsortedEntryIteratorHelper() {
+			table = (oldDictionaryList != null) ? oldDictionaryList : dictionaryList;
+			bucketIndex = -1;
+			advance();
+		}
+
+		/* Moves bucketItr to the next bucket that still has nodes to return. */
+		private void advance() {
+			while (bucketItr == null || !bucketItr.hasNext()) {
+				bucketIndex++;
+				if (bucketIndex == table.length) {
+					if (table == dictionaryList) {
+						bucketItr = null;
+						return;
+					}
+					table = dictionaryList;
+					bucketIndex = 0;
+				}
+				if (table[bucketIndex] != null) {
+					bucketItr = table[bucketIndex].iterator();
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return bucketItr != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Entry<K, V> currentEntry = bucketItr.next();
+			advance();
+			return currentEntry;
+		}
+	}
+
+	/*
+	 * EntrySpliterator covers a range of bucket indexes in which the buckets of
+	 * oldDictionaryList, if any, come before those of dictionaryList. Buckets of
+	 * the old table that are already moved are null, so no node is seen twice.
+	 * The size is exact until the first split and an estimate afterwards.
+	 */
+	protected class EntrySpliterator implements Spliterator<Entry<K, V>> {
+		private final ListADT<DictionaryNode<K, V>>[] oldTable;
+		private final ListADT<DictionaryNode<K, V>>[] table;
+		private final int oldLength;
+		private int bucketIndex;
+		private final int fence;
+		private int estimate;
+		private boolean sized;
+		private Iterator<DictionaryNode<K, V>> bucketItr;
+
+		public EntrySpliterator(int estimate) {
+			oldTable = oldDictionaryList;
+			table = dictionaryList;
+			oldLength = (oldTable == null) ? 0 : oldTable.length;
+			fence = oldLength + table.length;
+			this.estimate = estimate;
+			sized = true;
+		}
+
+		private EntrySpliterator(EntrySpliterator parent, int origin, int fence) {
+			oldTable = parent.oldTable;
+			table = parent.table;
+			oldLength = parent.oldLength;
+			bucketIndex = origin;
+			this.fence = fence;
+			estimate = parent.estimate;
+		}
+
+		/* Returns a Spliterator over the first half of the remaining buckets. */
+		@Override
+		public Spliterator<Entry<K, V>> trySplit() {
+			int mid = (bucketIndex + fence) >>> 1;
+			if (bucketIndex >= mid) {
+				return null;
+			}
+			estimate >>>= 1;
+			sized = false;
+			EntrySpliterator prefix = new EntrySpliterator(this, bucketIndex, mid);
+			bucketIndex = mid;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}
+			while (bucketItr == null || !bucketItr.hasNext()) {
+				if (bucketIndex >= fence) {
+					bucketItr = null;
+					return false;
+				}
+				ListADT<DictionaryNode<K, V>> bucket = (bucketIndex < oldLength) ? oldTable[bucketIndex]
+						: table[bucketIndex - oldLength];
+				bucketIndex++;
+				bucketItr = (bucket == null) ? null : bucket.iterator();
+			}
+			action.accept(bucketItr.next());
+			return true;
+		}
+
+		@Override
+		public long estimateSize() {
+			return estimate;
+		}
+
+		@Override
+		public int characteristics() {
+			return (sized ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
 		}
 	}
 
@@ -384,8 +1378,6 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 		}
 
 		public E find(E obj) {
-			if (head == null)
-				return null;
 			Node<E> tmp = head;
 			while (tmp != null) {
 				if (((Comparable<E>) obj).compareTo(tmp.data) == 0)
@@ -395,6 +1387,43 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 			return null;
 		}
 
+		public E find(E obj, HashtableStatistics statistics) {
+			int probes = 0;
+			Node<E> tmp = head;
+			while (tmp != null) {
+				probes++;
+				if (((Comparable<E>) obj).compareTo(tmp.data) == 0) {
+					statistics.recordLookup(probes, true);
+					return tmp.data;
+				}
+				tmp = tmp.next;
+			}
+			statistics.recordLookup(probes, false);
+			return null;
+		}
+
+		public E extract(E obj) {
+			if (isEmpty())
+				return null;
+			Node<E> previous = null, current = head;
+			while (current != null) {
+				if (((Comparable<E>) current.data).compareTo(obj) == 0) {
+					if (current == head)
+						removeFirst();
+					else {
+						previous.next = current.next;
+						if (current == tail)
+							tail = previous;
+						currentSize--;
+					}
+					return current.data;
+				}
+				previous = current;
+				current = current.next;
+			}
+			return null;
+		}
+
 		public boolean remove(E obj) {
 			if (isEmpty())
 				return false;
@@ -475,6 +1504,255 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 		}
 	}
 
+	/*
+	 * TreeBucketDS is an AVL tree ordered by compareTo that stands in for a
+	 * LinkedListDS bucket once too many keys collide. addFirst and addLast both
+	 * insert in sorted position, and the iterator returns elements in order.
+	 */
+	protected class TreeBucketDS<E> implements ListADT<E> {
+		/////////////////////////////////////////////////////////////////
+		class Node<T> {
+			T data;
+			Node<T> left, right;
+			int height;
+
+			public Node(T obj) {
+				data = obj;
+				height = 1;
+			}
+		}
+		// END CLASS NODE ///////////////////////////////////////////////
+
+		/////////////////////////////////////////////////////////////////
+		class TreeIteratorHelper implements Iterator<E> {
+			Node<E>[] stack;
+			int depth;
+
+			public TreeIteratorHelper() {
+				stack = new Node[height(root) + 1];
+				pushLeft(root);
+			}
+
+			private void pushLeft(Node<E> node) {
+				for (; node != null; node = node.left)
+					stack[depth++] = node;
+			}
+
+			public boolean hasNext() {
+				return depth > 0;
+			}
+
+			public E next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				Node<E> node = stack[--depth];
+				pushLeft(node.right);
+				return node.data;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		}
+		// END CLASS TREE_ITERATOR_HELPER //////////////////////////////
+
+		private Node<E> root;
+		private int currentSize;
+		private E removed; // Element unlinked by the last call to delete
+
+		public void addFirst(E obj) {
+			root = insert(root, obj);
+			currentSize++;
+		}
+
+		public void addLast(E obj) {
+			addFirst(obj);
+		}
+
+		public E removeFirst() {
+			E tmp = peekFirst();
+			if (tmp != null)
+				extract(tmp);
+			return tmp;
+		}
+
+		public E removeLast() {
+			E tmp = peekLast();
+			if (tmp != null)
+				extract(tmp);
+			return tmp;
+		}
+
+		public E peekFirst() {
+			if (root == null)
+				return null;
+			Node<E> node = root;
+			while (node.left != null)
+				node = node.left;
+			return node.data;
+		}
+
+		public E peekLast() {
+			if (root == null)
+				return null;
+			Node<E> node = root;
+			while (node.right != null)
+				node = node.right;
+			return node.data;
+		}
+
+		public E find(E obj) {
+			Node<E> node = root;
+			while (node != null) {
+				int cmp = ((Comparable<E>) obj).compareTo(node.data);
+				if (cmp == 0)
+					return node.data;
+				node = (cmp < 0) ? node.left : node.right;
+			}
+			return null;
+		}
+
+		public E find(E obj, HashtableStatistics statistics) {
+			int probes = 0;
+			Node<E> node = root;
+			while (node != null) {
+				probes++;
+				int cmp = ((Comparable<E>) obj).compareTo(node.data);
+				if (cmp == 0) {
+					statistics.recordLookup(probes, true);
+					return node.data;
+				}
+				node = (cmp < 0) ? node.left : node.right;
+			}
+			statistics.recordLookup(probes, false);
+			return null;
+		}
+
+		public boolean remove(E obj) {
+			return extract(obj) != null;
+		}
+
+		public E extract(E obj) {
+			removed = null;
+			root = delete(root, obj);
+			E tmp = removed;
+			removed = null;
+			if (tmp != null)
+				currentSize--;
+			return tmp;
+		}
+
+		public void makeEmpty() {
+			root = null;
+			currentSize = 0;
+		}
+
+		public boolean contains(E obj) {
+			return find(obj) != null;
+		}
+
+		public boolean isEmpty() {
+			return root == null;
+		}
+
+		public boolean isFull() {
+			return false;
+		}
+
+		public int size() {
+			return currentSize;
+		}
+
+		public Iterator<E> iterator() {
+			return new TreeIteratorHelper();
+		}
+
+		private int height(Node<E> node) {
+			return (node == null) ? 0 : node.height;
+		}
+
+		private void updateHeight(Node<E> node) {
+			node.height = Math.max(height(node.left), height(node.right)) + 1;
+		}
+
+		private Node<E> rotateRight(Node<E> node) {
+			Node<E> pivot = node.left;
+			node.left = pivot.right;
+			pivot.right = node;
+			updateHeight(node);
+			updateHeight(pivot);
+			return pivot;
+		}
+
+		private Node<E> rotateLeft(Node<E> node) {
+			Node<E> pivot = node.right;
+			node.right = pivot.left;
+			pivot.left = node;
+			updateHeight(node);
+			updateHeight(pivot);
+			return pivot;
+		}
+
+		/* Restores the AVL balance of node after one of its subtrees changed. */
+		private Node<E> balance(Node<E> node) {
+			updateHeight(node);
+			int factor = height(node.left) - height(node.right);
+			if (factor > 1) {
+				if (height(node.left.left) < height(node.left.right))
+					node.left = rotateLeft(node.left);
+				return rotateRight(node);
+			}
+			if (factor < -1) {
+				if (height(node.right.right) < height(node.right.left))
+					node.right = rotateRight(node.right);
+				return rotateLeft(node);
+			}
+			return node;
+		}
+
+		private Node<E> insert(Node<E> node, E obj) {
+			if (node == null)
+				return new Node<E>(obj);
+			if (((Comparable<E>) obj).compareTo(node.data) < 0)
+				node.left = insert(node.left, obj);
+			else
+				node.right = insert(node.right, obj);
+			return balance(node);
+		}
+
+		private Node<E> delete(Node<E> node, E obj) {
+			if (node == null)
+				return null;
+			int cmp = ((Comparable<E>) obj).compareTo(node.data);
+			if (cmp < 0)
+				node.left = delete(node.left, obj);
+			else if (cmp > 0)
+				node.right = delete(node.right, obj);
+			else {
+				removed = node.data;
+				if (node.left == null)
+					return node.right;
+				if (node.right == null)
+					return node.left;
+				Node<E> successor = node.right;
+				while (successor.left != null)
+					successor = successor.left;
+				node.right = deleteFirst(node.right);
+				successor.left = node.left;
+				successor.right = node.right;
+				node = successor;
+			}
+			return balance(node);
+		}
+
+		private Node<E> deleteFirst(Node<E> node) {
+			if (node.left == null)
+				return node.right;
+			node.left = deleteFirst(node.left);
+			return balance(node);
+		}
+	}
+
 	protected interface ListADT<E> extends Iterable<E> {
 
 		// Adds the Object obj to the beginning of the list
@@ -503,11 +1781,19 @@ public class Hashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V
 		// returns null. Does not modify the list in any way
 		public E find(E obj);
 
+		// Finds the Object obj as find does, and records the lookup and the
+		// number of Objects compared in statistics.
+		public E find(E obj, HashtableStatistics statistics);
+
 		// Removes the first instance of thespecific Object obj from the list, if it
 		// exists.
 		// Returns true if the Object obj was found and removed, otherwise false
 		public boolean remove(E obj);
 
+		// Removes the first instance of the specific Object obj from the list, if it
+		// exists, and returns the stored Object. Returns null if obj was not found.
+		public E extract(E obj);
+
 		// The list is returned to an empty state.
 		public void makeEmpty();
 
@@ -0,0 +1,279 @@
+package data_structures;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+
+/*
+ * HashtableSnapshot writes the entries of a Hashtable to a channel in a compact
+ * binary format and reads them back through the Hashtable bulk-load
+ * constructor, so a restart does not replay one add per entry.
+ *
+ * Format, all integers big-endian:
+ *   int MAGIC, int VERSION, int entry count, int flags (FLAG_*)
+ *   per entry: int key length, key bytes, int value length, value bytes
+ * A value length of -1 stands for a null value. FLAG_POWER_OF_TWO records that
+ * the source table used power of two bucket counts. The hash strategy is code
+ * rather than data, so it is not written; a table hashed with anything but
+ * the default strategy is read back with read(channel, keyCodec, valueCodec,
+ * hashStrategy).
+ */
+public class HashtableSnapshot {
+
+	private static final int MAGIC = 0x48545353;
+	private static final int VERSION = 1;
+	private static final int FLAG_UNIQUE_KEYS = 1;
+	private static final int FLAG_POWER_OF_TWO = 2;
+	private static final int INITIAL_ENTRIES = 1 << 10; // Entry arrays grow from here as entries arrive
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/*
+	 * Converts keys or values to and from their bytes in the snapshot. A key
+	 * codec must read different keys back as different keys, as read trusts a
+	 * snapshot not to repeat a key. read may throw IllegalArgumentException for
+	 * bytes it cannot decode.
+	 */
+	public interface Codec<T> {
+		/* Returns the number of bytes write will put for value. */
+		public int sizeOf(T value);
+
+		/* Puts exactly sizeOf(value) bytes for value into buffer. */
+		public void write(T value, ByteBuffer buffer);
+
+		/* Reads a value from the next length bytes of buffer. */
+		public T read(ByteBuffer buffer, int length);
+	}
+
+	/*
+	 * Codec storing strings as UTF-8 without an intermediate byte array. A string
+	 * holding a lone surrogate has no UTF-8 form, so sizeOf throws
+	 * IllegalArgumentException for it, and read throws the same for bytes that
+	 * are not valid UTF-8. Two different strings never read back as one.
+	 */
+	public static final Codec<String> STRING = new Codec<String>() {
+		public int sizeOf(String value) {
+			int size = 0;
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c < 0x80) {
+					size += 1;
+				} else if (c < 0x800) {
+					size += 2;
+				} else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+						&& Character.isLowSurrogate(value.charAt(i + 1))) {
+					size += 4;
+					i++;
+				} else if (Character.isSurrogate(c)) {
+					throw new IllegalArgumentException("String holds a lone surrogate");
+				} else {
+					size += 3;
+				}
+			}
+			return size;
+		}
+
+		public void write(String value, ByteBuffer buffer) {
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c < 0x80) {
+					buffer.put((byte) c);
+				} else if (c < 0x800) {
+					buffer.put((byte) (0xC0 | (c >> 6)));
+					buffer.put((byte) (0x80 | (c & 0x3F)));
+				} else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+						&& Character.isLowSurrogate(value.charAt(i + 1))) {
+					int codePoint = Character.toCodePoint(c, value.charAt(++i));
+					buffer.put((byte) (0xF0 | (codePoint >> 18)));
+					buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+					buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+					buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+				} else {
+					buffer.put((byte) (0xE0 | (c >> 12)));
+					buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+					buffer.put((byte) (0x80 | (c & 0x3F)));
+				}
+			}
+		}
+
+		public String read(ByteBuffer buffer, int length) {
+			String value = Utf8.decode(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+			buffer.position(buffer.position() + length);
+			return value;
+		}
+	};
+
+	/* Codec storing an Integer in four bytes. */
+	public static final Codec<Integer> INTEGER = new Codec<Integer>() {
+		public int sizeOf(Integer value) {
+			return 4;
+		}
+
+		public void write(Integer value, ByteBuffer buffer) {
+			buffer.putInt(value);
+		}
+
+		public Integer read(ByteBuffer buffer, int length) {
+			return buffer.getInt();
+		}
+	};
+
+	/* Codec storing a Long in eight bytes. */
+	public static final Codec<Long> LONG = new Codec<Long>() {
+		public int sizeOf(Long value) {
+			return 8;
+		}
+
+		public void write(Long value, ByteBuffer buffer) {
+			buffer.putLong(value);
+		}
+
+		public Long read(ByteBuffer buffer, int length) {
+			return buffer.getLong();
+		}
+	};
+
+	/*
+	 * Writes every entry of table to channel. The buckets are walked in place, so
+	 * the table must not be used by other threads while the snapshot is written.
+	 * Throws IllegalArgumentException if a codec cannot encode an entry.
+	 */
+	public static <K extends Comparable<K>, V> void write(Hashtable<K, V> table, WritableByteChannel channel,
+			Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(table.size());
+		buffer.putInt(table.powerOfTwo ? FLAG_UNIQUE_KEYS | FLAG_POWER_OF_TWO : FLAG_UNIQUE_KEYS);
+		Iterator<Hashtable.Entry<K, V>> itr = table.unsortedEntries();
+		while (itr.hasNext()) {
+			Hashtable.Entry<K, V> entry = itr.next();
+			int keySize = keyCodec.sizeOf(entry.getKey());
+			int valueSize = (entry.getValue() == null) ? 0 : valueCodec.sizeOf(entry.getValue());
+			int recordSize = 8 + keySize + valueSize;
+			if (buffer.remaining() < recordSize) {
+				flush(buffer, channel);
+				if (buffer.capacity() < recordSize) {
+					buffer = ByteBuffer.allocate(recordSize);
+				}
+			}
+			buffer.putInt(keySize);
+			keyCodec.write(entry.getKey(), buffer);
+			if (entry.getValue() == null) {
+				buffer.putInt(-1);
+			} else {
+				buffer.putInt(valueSize);
+				valueCodec.write(entry.getValue(), buffer);
+			}
+		}
+		flush(buffer, channel);
+	}
+
+	/*
+	 * Reads a snapshot written by write and bulk loads it into a new growable
+	 * Hashtable, skipping the duplicate check since a snapshot of a Hashtable
+	 * never repeats a key. The table hashes with the default strategy and uses
+	 * power of two bucket counts if the source table did.
+	 */
+	public static <K extends Comparable<K>, V> Hashtable<K, V> read(ReadableByteChannel channel, Codec<K> keyCodec,
+			Codec<V> valueCodec) throws IOException {
+		return read(channel, keyCodec, valueCodec, HashStrategy.IDENTITY);
+	}
+
+	/*
+	 * Reads a snapshot as read(channel, keyCodec, valueCodec) does, into a table
+	 * that hashes keys with hashStrategy, normally the strategy of the table
+	 * the snapshot was written from. Throws IOException if the snapshot is
+	 * malformed, including bytes a codec cannot decode; sizes read from it are checked before anything is allocated
+	 * for them, and arrays grow only as entries actually arrive.
+	 */
+	public static <K extends Comparable<K>, V> Hashtable<K, V> read(ReadableByteChannel channel, Codec<K> keyCodec,
+			Codec<V> valueCodec, HashStrategy<? super K> hashStrategy) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.flip();
+		buffer = fill(buffer, channel, 16);
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+			throw new IOException("Not a Hashtable snapshot");
+		}
+		int count = buffer.getInt();
+		int flags = buffer.getInt();
+		if (count < 0) {
+			throw new IOException("Corrupt Hashtable snapshot: entry count " + count);
+		}
+		K[] keys = (K[]) new Comparable[Math.min(count, INITIAL_ENTRIES)];
+		V[] values = (V[]) new Object[keys.length];
+		for (int i = 0; i < count; i++) {
+			if (i == keys.length) {
+				int length = (int) Math.min(count, 2L * keys.length);
+				K[] grownKeys = (K[]) new Comparable[length];
+				V[] grownValues = (V[]) new Object[length];
+				System.arraycopy(keys, 0, grownKeys, 0, i);
+				System.arraycopy(values, 0, grownValues, 0, i);
+				keys = grownKeys;
+				values = grownValues;
+			}
+			buffer = fill(buffer, channel, 4);
+			int keySize = buffer.getInt();
+			if (keySize < 0 || keySize > Integer.MAX_VALUE - 4) {
+				throw new IOException("Corrupt Hashtable snapshot: key length " + keySize);
+			}
+			buffer = fill(buffer, channel, keySize + 4);
+			try {
+				keys[i] = keyCodec.read(buffer, keySize);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Corrupt Hashtable snapshot: " + e.getMessage(), e);
+			}
+			int valueSize = buffer.getInt();
+			if (valueSize < -1) {
+				throw new IOException("Corrupt Hashtable snapshot: value length " + valueSize);
+			}
+			if (valueSize >= 0) {
+				buffer = fill(buffer, channel, valueSize);
+				try {
+					values[i] = valueCodec.read(buffer, valueSize);
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Corrupt Hashtable snapshot: " + e.getMessage(), e);
+				}
+			}
+		}
+		return new Hashtable<K, V>(keys, values, (flags & FLAG_UNIQUE_KEYS) != 0, hashStrategy,
+				(flags & FLAG_POWER_OF_TWO) != 0);
+	}
+
+	/* Writes out everything put into buffer and empties it. */
+	private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/*
+	 * Returns a buffer in read mode with at least size bytes remaining, reading
+	 * from channel and growing the buffer as needed. The buffer at most doubles
+	 * ahead of the bytes actually read, so a corrupt length runs into the end of
+	 * the channel before it can allocate much.
+	 */
+	private static ByteBuffer fill(ByteBuffer buffer, ReadableByteChannel channel, int size) throws IOException {
+		if (buffer.remaining() >= size) {
+			return buffer;
+		}
+		buffer.compact();
+		while (buffer.position() < size) {
+			if (!buffer.hasRemaining()) {
+				ByteBuffer grown = ByteBuffer.allocate((int) Math.min(size, 2L * buffer.capacity()));
+				buffer.flip();
+				grown.put(buffer);
+				buffer = grown;
+			}
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("Truncated Hashtable snapshot");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
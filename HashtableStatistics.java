@@ -0,0 +1,99 @@
+package data_structures;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * HashtableStatistics collects the operation counters of a Hashtable whose
+ * statistics were enabled with Hashtable.enableStatistics. A lookup is a call
+ * to getValue, contains, putIfAbsent, replace, computeIfAbsent, compute or
+ * merge, each of which searches for the key once; the duplicate check of add
+ * is not counted. The probe length of a lookup is the number of nodes its
+ * bucket compared against the key. The counters are LongAdders so that they can
+ * be read by a metrics scraper on another thread while the table is in use.
+ * Occupancy figures, which need a walk of the buckets, are computed on demand
+ * by Hashtable.getChainLengthHistogram and Hashtable.getLoadFactor.
+ */
+public class HashtableStatistics {
+
+	private final LongAdder lookupCount = new LongAdder();
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder probeCount = new LongAdder();
+	private final LongAccumulator maxProbeLength = new LongAccumulator(Math::max, 0);
+	private final LongAdder addCount = new LongAdder();
+	private final LongAdder deleteCount = new LongAdder();
+	private final LongAdder rehashCount = new LongAdder();
+
+	void recordLookup(int probeLength, boolean found) {
+		lookupCount.increment();
+		if (found) {
+			hitCount.increment();
+		}
+		probeCount.add(probeLength);
+		maxProbeLength.accumulate(probeLength);
+	}
+
+	void recordAdd() {
+		addCount.increment();
+	}
+
+	void recordDelete() {
+		deleteCount.increment();
+	}
+
+	void recordRehash() {
+		rehashCount.increment();
+	}
+
+	/* Returns the number of getValue and contains calls. */
+	public long getLookupCount() {
+		return lookupCount.sum();
+	}
+
+	/* Returns the number of lookups that found their key. */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/* Returns the number of lookups that did not find their key. */
+	public long getMissCount() {
+		return lookupCount.sum() - hitCount.sum();
+	}
+
+	/* Returns the mean number of nodes compared per lookup. */
+	public double getAverageProbeLength() {
+		long lookups = lookupCount.sum();
+		return (lookups == 0) ? 0.0 : (double) probeCount.sum() / lookups;
+	}
+
+	/* Returns the largest number of nodes compared by a single lookup. */
+	public long getMaxProbeLength() {
+		return maxProbeLength.get();
+	}
+
+	/* Returns the number of successful add calls. */
+	public long getAddCount() {
+		return addCount.sum();
+	}
+
+	/* Returns the number of successful delete calls. */
+	public long getDeleteCount() {
+		return deleteCount.sum();
+	}
+
+	/* Returns the number of times a growable table doubled its bucket count. */
+	public long getRehashCount() {
+		return rehashCount.sum();
+	}
+
+	/* Sets every counter back to zero. */
+	public void reset() {
+		lookupCount.reset();
+		hitCount.reset();
+		probeCount.reset();
+		maxProbeLength.reset();
+		addCount.reset();
+		deleteCount.reset();
+		rehashCount.reset();
+	}
+}
@@ -0,0 +1,340 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * IndexedBinaryHeapPriorityQueue is a binary min heap whose entries are Handles
+ * that always know their position in the heap array. A Hashtable maps each
+ * object to the chain of Handles holding equal objects, so contains is a single
+ * hash lookup and delete finds every match without scanning the heap. Deleting
+ * or changing the priority of an entry moves it up or down from its known
+ * position in O(log n). As in BinaryHeapPriorityQueue, objects of equal
+ * priority are removed in the order they were inserted. Objects must provide a
+ * hashCode consistent with their compareTo.
+ */
+public class IndexedBinaryHeapPriorityQueue<E extends Comparable<E>> implements PriorityQueue<E> {
+
+	int currentSize = 0;
+	int maxSize = 0;
+	long entryNumber = 0;
+	private Handle<E>[] binaryHeap;
+	private final Hashtable<E, Handle<E>> handles = new Hashtable<E, Handle<E>>();
+
+	/*
+	 * Handle identifies one entry of the PQ, so that it can be deleted or given a
+	 * new priority without searching for it. A Handle stays valid until its
+	 * entry is removed from the PQ.
+	 */
+	public static final class Handle<E> {
+		final Object owner;
+		E data;
+		final long number; // Insertion order, breaks ties between equal objects
+		int index; // Position in the heap array, -1 once removed
+		Handle<E> previousEqual, nextEqual; // Chain of entries holding equal objects
+
+		Handle(Object owner, E data, long number) {
+			this.owner = owner;
+			this.data = data;
+			this.number = number;
+		}
+
+		/* Returns the object held by this entry. */
+		public E getValue() {
+			return data;
+		}
+
+		/* Returns true while the entry is in the PQ. */
+		public boolean isValid() {
+			return index >= 0;
+		}
+	}
+
+	public IndexedBinaryHeapPriorityQueue() {
+		this(DEFAULT_MAX_CAPACITY);
+	}
+
+	public IndexedBinaryHeapPriorityQueue(int maximumSize) {
+		this.binaryHeap = new Handle[maximumSize];
+		this.maxSize = maximumSize;
+	}
+
+	/*
+	 * Inserts a new object into the priority queue. Returns true if the insertion
+	 * is successful. If the PQ is full, the insertion is aborted, and the method
+	 * returns false.
+	 */
+	@Override
+	public boolean insert(E object) {
+		return insertHandle(object) != null;
+	}
+
+	/*
+	 * Inserts a new object into the priority queue and returns the Handle of its
+	 * entry, or null if the PQ is full.
+	 */
+	public Handle<E> insertHandle(E object) {
+		if (currentSize >= maxSize)
+			return null;
+		Handle<E> handle = new Handle<E>(this, object, entryNumber++);
+		Handle<E> head = handles.putIfAbsent(object, handle);
+		if (head != null)
+			linkAfter(head, handle);
+		handle.index = currentSize;
+		binaryHeap[currentSize++] = handle;
+		trickleUp(handle.index);
+		return handle;
+	}
+
+	/*
+	 * Removes the object of highest priority that has been in the PQ the longest,
+	 * and returns it. Returns null if the PQ is empty.
+	 */
+	@Override
+	public E remove() {
+		if (currentSize == 0)
+			return null;
+		Handle<E> handle = binaryHeap[0];
+		removeAt(0);
+		return handle.data;
+	}
+
+	/*
+	 * Deletes all instances of the parameter obj from the PQ if found, and returns
+	 * true. Returns false if no match to the parameter obj is found. Each match is
+	 * removed in O(log n) from its known position.
+	 */
+	@Override
+	public boolean delete(E obj) {
+		Handle<E> handle = handles.getValue(obj);
+		if (handle == null)
+			return false;
+		handles.delete(obj);
+		while (handle != null) {
+			Handle<E> next = handle.nextEqual;
+			handle.previousEqual = null;
+			handle.nextEqual = null;
+			removeFromHeap(handle.index);
+			handle = next;
+		}
+		return true;
+	}
+
+	/*
+	 * Deletes the entry of the given Handle. Returns false if the entry was
+	 * already removed.
+	 */
+	public boolean delete(Handle<E> handle) {
+		if (!isOwned(handle))
+			return false;
+		removeAt(handle.index);
+		return true;
+	}
+
+	/*
+	 * Gives the entry of the given Handle a new object, and so a new priority,
+	 * moving it up or down the heap as needed. Ties with equal objects are still
+	 * broken by the entry's original insertion order. Returns false if the entry
+	 * was already removed.
+	 */
+	public boolean update(Handle<E> handle, E object) {
+		if (!isOwned(handle))
+			return false;
+		unlinkHandle(handle);
+		handle.data = object;
+		Handle<E> head = handles.putIfAbsent(object, handle);
+		if (head != null)
+			linkAfter(head, handle);
+		int index = handle.index;
+		trickleUp(index);
+		if (handle.index == index)
+			trickleDown(index);
+		return true;
+	}
+
+	/*
+	 * Raises the priority of the entry of the given Handle to that of object.
+	 * Throws IllegalArgumentException if object is of lower priority than the
+	 * current one. Returns false if the entry was already removed.
+	 */
+	public boolean decreaseKey(Handle<E> handle, E object) {
+		if (!isOwned(handle))
+			return false;
+		if (object.compareTo(handle.data) > 0)
+			throw new IllegalArgumentException();
+		return update(handle, object);
+	}
+
+	/*
+	 * Returns the object of highest priority that has been in the PQ the longest,
+	 * but does NOT remove it. Returns null if the PQ is empty.
+	 */
+	@Override
+	public E peek() {
+		if (currentSize == 0)
+			return null;
+		return binaryHeap[0].data;
+	}
+
+	/*
+	 * Returns true if the priority queue contains the specified element false
+	 * otherwise. Objects are matched by compareTo through the Handle map.
+	 */
+	@Override
+	public boolean contains(E obj) {
+		return handles.contains(obj);
+	}
+
+	/* Returns the number of objects currently in the PQ. */
+	@Override
+	public int size() {
+		return currentSize;
+	}
+
+	/* Returns the PQ to an empty state. Outstanding Handles become invalid. */
+	@Override
+	public void clear() {
+		for (int i = 0; i < currentSize; i++) {
+			binaryHeap[i].index = -1;
+			binaryHeap[i].previousEqual = null;
+			binaryHeap[i].nextEqual = null;
+			binaryHeap[i] = null;
+		}
+		currentSize = 0;
+		handles.clear();
+	}
+
+	/* Returns true if the PQ is empty, otherwise false */
+	@Override
+	public boolean isEmpty() {
+		return currentSize == 0;
+	}
+
+	/* Returns true if the PQ is full, otherwise false. */
+	@Override
+	public boolean isFull() {
+		return currentSize == maxSize;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new IteratorCustom();
+	}
+
+	private class IteratorCustom implements Iterator<E> {
+		int ptr = 0;
+
+		/* Returns true if another object is left in the heap array. */
+		public boolean hasNext() {
+			return ptr < currentSize;
+		}
+
+		/* Return the next object in iteration over the heap array. */
+		public E next() {
+			if (ptr >= currentSize)
+				throw new NoSuchElementException();
+			return binaryHeap[ptr++].data;
+		}
+	}
+
+	private boolean isOwned(Handle<E> handle) {
+		return handle.owner == this && handle.index >= 0;
+	}
+
+	/* Method links handle into the chain of equal objects right after head. */
+	private void linkAfter(Handle<E> head, Handle<E> handle) {
+		handle.previousEqual = head;
+		handle.nextEqual = head.nextEqual;
+		if (head.nextEqual != null)
+			head.nextEqual.previousEqual = handle;
+		head.nextEqual = handle;
+	}
+
+	/*
+	 * Method takes handle out of its chain of equal objects, updating the map
+	 * when handle heads the chain.
+	 */
+	private void unlinkHandle(Handle<E> handle) {
+		Handle<E> previous = handle.previousEqual;
+		Handle<E> next = handle.nextEqual;
+		if (previous != null) {
+			previous.nextEqual = next;
+		} else if (next != null) {
+			handles.replace(handle.data, next);
+		} else {
+			handles.delete(handle.data);
+		}
+		if (next != null)
+			next.previousEqual = previous;
+		handle.previousEqual = null;
+		handle.nextEqual = null;
+	}
+
+	/* Method removes the entry at index from the heap and from the map. */
+	private void removeAt(int index) {
+		unlinkHandle(binaryHeap[index]);
+		removeFromHeap(index);
+	}
+
+	/*
+	 * Method removes the entry at index from the heap array by moving the last
+	 * entry into its place and restoring the heap property around it.
+	 */
+	private void removeFromHeap(int index) {
+		Handle<E> removed = binaryHeap[index];
+		removed.index = -1;
+		currentSize--;
+		Handle<E> last = binaryHeap[currentSize];
+		binaryHeap[currentSize] = null;
+		if (index == currentSize)
+			return;
+		binaryHeap[index] = last;
+		last.index = index;
+		trickleUp(index);
+		if (last.index == index)
+			trickleDown(index);
+	}
+
+	/* Returns a negative number if a is removed before b, positive otherwise. */
+	private int compare(Handle<E> a, Handle<E> b) {
+		int cmp = a.data.compareTo(b.data);
+		if (cmp != 0)
+			return cmp;
+		return (a.number < b.number) ? -1 : 1;
+	}
+
+	/* Method moves the entry at index up until its parent comes before it. */
+	private void trickleUp(int index) {
+		Handle<E> handle = binaryHeap[index];
+		while (index > 0) {
+			int parentIndex = (index - 1) >> 1;
+			Handle<E> parent = binaryHeap[parentIndex];
+			if (compare(handle, parent) >= 0)
+				break;
+			binaryHeap[index] = parent;
+			parent.index = index;
+			index = parentIndex;
+		}
+		binaryHeap[index] = handle;
+		handle.index = index;
+	}
+
+	/* Method moves the entry at index down until it comes before its children. */
+	private void trickleDown(int index) {
+		Handle<E> handle = binaryHeap[index];
+		int half = currentSize >> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			int right = child + 1;
+			if (right < currentSize && compare(binaryHeap[right], binaryHeap[child]) < 0)
+				child = right;
+			if (compare(handle, binaryHeap[child]) <= 0)
+				break;
+			binaryHeap[index] = binaryHeap[child];
+			binaryHeap[index].index = index;
+			index = child;
+		}
+		binaryHeap[index] = handle;
+		handle.index = index;
+	}
+}
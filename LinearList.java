@@ -2,6 +2,9 @@ package data_structures;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 public class LinearList<E extends Comparable<E>> implements LinearListADT<E> {
 
@@ -256,6 +259,64 @@ public class LinearList<E extends Comparable<E>> implements LinearListADT<E> {
 		return new IteratorCustom();
 	}
 
+	/*
+	 * Returns a Spliterator of the values in the list, in the order of the list.
+	 * A linked list cannot be split in the middle, so each split copies the next
+	 * batch of elements into an array, with batches growing so that the splitting
+	 * cost stays proportional to the work handed out.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return new SpliteratorCustom();
+	}
+
+	private class SpliteratorCustom implements Spliterator<E> {
+		static final int BATCH_UNIT = 1 << 10; // Elements in the first batch
+		static final int MAX_BATCH = 1 << 25; // Elements in the largest batch
+		private Node<E> next = head;
+		private int remaining = currentSize;
+		private int batch;
+
+		/* Returns a Spliterator over an array holding the next batch of elements. */
+		@Override
+		public Spliterator<E> trySplit() {
+			if (remaining <= 1)
+				return null;
+			int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+			Object[] array = new Object[n];
+			for (int j = 0; j < n; j++) {
+				array[j] = next.data;
+				next = next.next;
+			}
+			batch = n;
+			remaining -= n;
+			return Spliterators.spliterator(array, 0, n, Spliterator.ORDERED);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (action == null)
+				throw new NullPointerException();
+			if (remaining <= 0)
+				return false;
+			E obj = next.data;
+			next = next.next;
+			remaining--;
+			action.accept(obj);
+			return true;
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
 	private class IteratorCustom implements Iterator<E> {
 		int currentObjectCount;
 		private Node<E> next = head;
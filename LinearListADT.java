@@ -5,6 +5,8 @@ Your cssc account number
 package data_structures;
 
 import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.NoSuchElementException;
 
 public interface LinearListADT<E extends Comparable<E>> extends Iterable<E> {
@@ -95,4 +97,19 @@ public interface LinearListADT<E extends Comparable<E>> extends Iterable<E> {
 	 * the underlying order of the list. (front first, rear last)
 	 */
 	public Iterator<E> iterator();
+
+	/*
+	 * Returns a sequential Stream of the values in the list, front first.
+	 */
+	public default Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/*
+	 * Returns a parallel Stream of the values in the list, split by the list's
+	 * spliterator.
+	 */
+	public default Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
 }
\ No newline at end of file
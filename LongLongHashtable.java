@@ -0,0 +1,223 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/*
+ * LongLongHashtable is a hash table from long keys to long values with the
+ * same add/delete/getValue/contains semantics as DictionaryADT. Keys and
+ * values are kept in flat primitive arrays and collisions are resolved by
+ * linear probing, so no operation boxes a key or value, including iteration
+ * through the primitive iterators returned by keys() and values(). Lookups of
+ * an absent key return noEntryValue. Sizing and deletion are shared with the
+ * other primitive-keyed tables through PrimitiveKeyHashtable.
+ */
+public class LongLongHashtable extends PrimitiveKeyHashtable {
+
+	private long[] keyTable;
+	private long[] valueTable;
+	final long noEntryKey; // Returned by getKey when no key matches
+	final long noEntryValue; // Returned by getValue when the key is absent
+
+	// Constructor to initialize hash table
+	public LongLongHashtable(int maximumSize) {
+		this(maximumSize, 0, 0);
+	}
+
+	/*
+	 * Constructor to initialize hash table with the values returned by getKey and
+	 * getValue when nothing matches.
+	 */
+	public LongLongHashtable(int maximumSize, long noEntryKey, long noEntryValue) {
+		super(maximumSize, 64);
+		keyTable = new long[usedTable.length];
+		valueTable = new long[usedTable.length];
+		this.noEntryKey = noEntryKey;
+		this.noEntryValue = noEntryValue;
+	}
+
+	/*
+	 * Returns true if the dictionary has an entry identified by key in it,
+	 * otherwise false.
+	 */
+	public boolean contains(long key) {
+		return findSlot(key) >= 0;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the
+	 * dictionary is full, or if the key is a duplicate. Returns true if addition
+	 * succeeded.
+	 */
+	public boolean add(long key, long value) {
+		int slot = getSlot(key);
+		while (usedTable[slot]) {
+			if (keyTable[slot] == key) {
+				return false;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		if (isFull()) {
+			return false;
+		}
+		keyTable[slot] = key;
+		valueTable[slot] = value;
+		usedTable[slot] = true;
+		currentNodesCount++;
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	public boolean delete(long key) {
+		if (currentNodesCount == 0) {
+			return false;
+		}
+		int slot = findSlot(key);
+		if (slot < 0) {
+			return false;
+		}
+		deleteSlot(slot);
+		return true;
+	}
+
+	/*
+	 * Returns the value associated with the parameter key. Returns noEntryValue
+	 * if the key is not found or the dictionary is empty.
+	 */
+	public long getValue(long key) {
+		if (currentNodesCount == 0) {
+			return noEntryValue;
+		}
+		int slot = findSlot(key);
+		if (slot < 0) {
+			return noEntryValue;
+		}
+		return valueTable[slot];
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns noEntryKey if
+	 * the value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the first one found.
+	 */
+	public long getKey(long value) {
+		if (currentNodesCount == 0) {
+			return noEntryKey;
+		}
+		for (int i = 0; i < keyTable.length; i++) {
+			if (usedTable[i] && valueTable[i] == value) {
+				return keyTable[i];
+			}
+		}
+		return noEntryKey;
+	}
+
+	/* Returns an iterator of the keys in the dictionary, in sorted order. */
+	public PrimitiveIterator.OfLong keys() {
+		return new KeyIteratorHelper();
+	}
+
+	/*
+	 * Returns an iterator of the values in the dictionary, in sorted order of
+	 * keys.
+	 */
+	public PrimitiveIterator.OfLong values() {
+		return new ValueIteratorHelper();
+	}
+
+	/* Method returns the home slot of the key using Fibonacci hashing. */
+	private int getSlot(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> hashShift);
+	}
+
+	/* Method returns the slot holding the key, or -1 if the key is absent. */
+	private int findSlot(long key) {
+		int slot = getSlot(key);
+		while (usedTable[slot]) {
+			if (keyTable[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		return -1;
+	}
+
+	@Override
+	int getHomeSlot(int slot) {
+		return getSlot(keyTable[slot]);
+	}
+
+	@Override
+	void moveEntry(int from, int to) {
+		keyTable[to] = keyTable[from];
+		valueTable[to] = valueTable[from];
+	}
+
+	@Override
+	int compareKeys(int a, int b) {
+		return Long.compare(keyTable[a], keyTable[b]);
+	}
+
+	/*
+	 * KeyIteratorHelper class implements the method to iterate on dictionary and
+	 * retrieve keys in sorted order without boxing them.
+	 */
+	protected class KeyIteratorHelper implements PrimitiveIterator.OfLong {
+		private long[] keys;
+		private int index;
+
+		public KeyIteratorHelper() {
+			int[] slots = getSortedSlots();
+			keys = new long[slots.length];
+			for (int i = 0; i < slots.length; i++) {
+				keys[i] = keyTable[slots[i]];
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < keys.length;
+		}
+
+		@Override
+		public long nextLong() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return keys[index++];
+		}
+	}
+
+	/*
+	 * ValueIteratorHelper class implements the methods to iterate on dictionary and
+	 * retrieve values. Values will be retrieved in sorted order of keys.
+	 */
+	protected class ValueIteratorHelper implements PrimitiveIterator.OfLong {
+		private long[] values;
+		private int index;
+
+		public ValueIteratorHelper() {
+			int[] slots = getSortedSlots();
+			values = new long[slots.length];
+			for (int i = 0; i < slots.length; i++) {
+				values[i] = valueTable[slots[i]];
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < values.length;
+		}
+
+		@Override
+		public long nextLong() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return values[index++];
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * LongPriorityHeap is a binary min heap ordered by a primitive long priority,
+ * carrying an object payload with each entry. The entries are kept in three
+ * parallel arrays, priorities, sequence numbers and payloads, instead of one
+ * Wrapper object per entry, so insert and remove allocate nothing once the
+ * arrays have grown to the working size, and each comparison reads two longs
+ * instead of calling compareTo. Entries of equal priority are removed in the
+ * order they were inserted, as in BinaryHeapPriorityQueue.
+ */
+public class LongPriorityHeap<E> implements Iterable<E> {
+
+	/* Largest array a heap allocates. */
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+	private long[] priorities;
+	private long[] sequences;
+	private Object[] payloads;
+	int currentSize = 0;
+	long entryNumber = 0;
+
+	public LongPriorityHeap() {
+		this(PriorityQueue.DEFAULT_MAX_CAPACITY);
+	}
+
+	/*
+	 * Constructs a heap with room for initialCapacity entries. The arrays double
+	 * when they fill up, which is the only time the heap allocates.
+	 */
+	public LongPriorityHeap(int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		priorities = new long[initialCapacity];
+		sequences = new long[initialCapacity];
+		payloads = new Object[initialCapacity];
+	}
+
+	/* Inserts payload with the given priority. Lower priorities are removed first. */
+	public void insert(long priority, E payload) {
+		if (currentSize == priorities.length) {
+			grow();
+		}
+		trickleUp(currentSize++, priority, entryNumber++, payload);
+	}
+
+	/*
+	 * Removes the payload of lowest priority that has been in the heap the
+	 * longest, and returns it. Returns null if the heap is empty.
+	 */
+	public E remove() {
+		if (currentSize == 0) {
+			return null;
+		}
+		E payload = (E) payloads[0];
+		int last = --currentSize;
+		if (last > 0) {
+			trickleDown(0, priorities[last], sequences[last], payloads[last]);
+		}
+		payloads[last] = null;
+		return payload;
+	}
+
+	/*
+	 * Returns the payload of lowest priority that has been in the heap the
+	 * longest, but does NOT remove it. Returns null if the heap is empty.
+	 */
+	public E peek() {
+		return (currentSize == 0) ? null : (E) payloads[0];
+	}
+
+	/*
+	 * Returns the lowest priority in the heap. Throws NoSuchElementException if
+	 * the heap is empty.
+	 */
+	public long peekPriority() {
+		if (currentSize == 0) {
+			throw new NoSuchElementException();
+		}
+		return priorities[0];
+	}
+
+	/* Returns the number of entries currently in the heap. */
+	public int size() {
+		return currentSize;
+	}
+
+	/* Returns true if the heap is empty, otherwise false */
+	public boolean isEmpty() {
+		return currentSize == 0;
+	}
+
+	/* Returns the heap to an empty state, keeping its capacity. */
+	public void clear() {
+		for (int i = 0; i < currentSize; i++) {
+			payloads[i] = null;
+		}
+		currentSize = 0;
+	}
+
+	/* Returns an iterator of the payloads in the heap, in no particular order. */
+	@Override
+	public Iterator<E> iterator() {
+		return new IteratorCustom();
+	}
+
+	private class IteratorCustom implements Iterator<E> {
+		int ptr = 0;
+
+		public boolean hasNext() {
+			return ptr < currentSize;
+		}
+
+		public E next() {
+			if (ptr >= currentSize)
+				throw new NoSuchElementException();
+			return (E) payloads[ptr++];
+		}
+	}
+
+	/* Returns true if entry (p1, s1) is removed before entry (p2, s2). */
+	private static boolean isBefore(long p1, long s1, long p2, long s2) {
+		return p1 < p2 || (p1 == p2 && s1 < s2);
+	}
+
+	/*
+	 * Method places the given entry at the hole at index, moving parents down
+	 * until the entry's parent comes before it.
+	 */
+	private void trickleUp(int index, long priority, long sequence, Object payload) {
+		while (index > 0) {
+			int parent = (index - 1) >> 1;
+			if (!isBefore(priority, sequence, priorities[parent], sequences[parent])) {
+				break;
+			}
+			priorities[index] = priorities[parent];
+			sequences[index] = sequences[parent];
+			payloads[index] = payloads[parent];
+			index = parent;
+		}
+		priorities[index] = priority;
+		sequences[index] = sequence;
+		payloads[index] = payload;
+	}
+
+	/*
+	 * Method places the given entry at the hole at index, moving the earlier
+	 * child up until the entry comes before both children.
+	 */
+	private void trickleDown(int index, long priority, long sequence, Object payload) {
+		int half = currentSize >> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			int right = child + 1;
+			if (right < currentSize && isBefore(priorities[right], sequences[right], priorities[child], sequences[child])) {
+				child = right;
+			}
+			if (!isBefore(priorities[child], sequences[child], priority, sequence)) {
+				break;
+			}
+			priorities[index] = priorities[child];
+			sequences[index] = sequences[child];
+			payloads[index] = payloads[child];
+			index = child;
+		}
+		priorities[index] = priority;
+		sequences[index] = sequence;
+		payloads[index] = payload;
+	}
+
+	/* Method doubles the length of the three arrays. */
+	private void grow() {
+		if (currentSize == MAX_ARRAY_SIZE) {
+			throw new IllegalStateException("Heap is at maximum capacity");
+		}
+		int length = (int) Math.min(MAX_ARRAY_SIZE, 2L * priorities.length);
+		long[] newPriorities = new long[length];
+		long[] newSequences = new long[length];
+		Object[] newPayloads = new Object[length];
+		System.arraycopy(priorities, 0, newPriorities, 0, currentSize);
+		System.arraycopy(sequences, 0, newSequences, 0, currentSize);
+		System.arraycopy(payloads, 0, newPayloads, 0, currentSize);
+		priorities = newPriorities;
+		sequences = newSequences;
+		payloads = newPayloads;
+	}
+}
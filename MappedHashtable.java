@@ -0,0 +1,711 @@
+package data_structures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * Off-heap implementation of DictionaryADT from String keys to byte[] values.
+ * The whole dictionary lives in a memory-mapped file: a header, an open
+ * addressing slot table and an append-only data area holding the key and value
+ * bytes. Nothing is kept on the heap, so reopening the file is a map call and
+ * the entries are paged in by the operating system as they are used.
+ *
+ * File layout:
+ *   header     HEADER_BYTES, see the *_OFFSET constants
+ *   slot table slotCount slots of [long record reference][int key hash]
+ *   data area  records of [int key length][int value length][key][value]
+ *
+ * A record reference is the record's offset in the data area plus one; 0 marks
+ * an empty slot and -1 a deleted one. The data area is mapped in chunks of
+ * CHUNK_BYTES and a record never spans two chunks. A chunk is mapped, and the
+ * file extended, only as far as the data written so far, doubling as it fills.
+ * The bytes of deleted records are counted, and once they make up more than
+ * half of the data area compact() moves the live records down over them, so
+ * the data area stays within about twice the live data. Changes reach the
+ * file when the operating system writes the pages back, or on force(); the
+ * file is not crash consistent.
+ *
+ * Keys are stored as UTF-8, so add rejects a String key holding a lone
+ * surrogate, and a byte[] key that is not valid UTF-8, with
+ * IllegalArgumentException; lookups report such keys absent.
+ */
+public class MappedHashtable implements DictionaryADT<String, byte[]>, Closeable {
+
+	private static final int MAGIC = 0x4D485442;
+	private static final int VERSION = 1;
+
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 4;
+	private static final int SLOT_COUNT_OFFSET = 8;
+	private static final int MAXIMUM_SIZE_OFFSET = 12;
+	private static final int NODES_COUNT_OFFSET = 16;
+	private static final int DELETED_COUNT_OFFSET = 20;
+	private static final int DATA_END_OFFSET = 24;
+	private static final int DEAD_BYTES_OFFSET = 32;
+	private static final int HEADER_BYTES = 64;
+
+	private static final int SLOT_BYTES = 12;
+	private static final int CHUNK_SHIFT = 28;
+	private static final int CHUNK_BYTES = 1 << CHUNK_SHIFT;
+	private static final int RECORD_HEADER_BYTES = 8;
+	private static final int MIN_MAP_BYTES = 1 << 16; // Smallest chunk mapping
+	private static final long MIN_COMPACT_BYTES = 1 << 20; // Dead bytes before compact() runs
+
+	private static final long EMPTY = 0;
+	private static final long DELETED = -1;
+
+	/* Maximum fraction of slots that may be occupied when the table is full. */
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int MAXIMUM_CAPACITY = 1 << 30; // Largest slot count
+
+	private final FileChannel channel;
+	private final MappedByteBuffer table; // Header and slot table
+	private MappedByteBuffer[] chunks; // Data area, mapped on first use
+	private final long dataStart;
+	private final int slotCount;
+	private final int maxSize;
+
+	/*
+	 * Creates a new dictionary file, replacing any existing file, that holds at
+	 * most maximumSize entries.
+	 */
+	public MappedHashtable(Path file, int maximumSize) throws IOException {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize is negative: " + maximumSize);
+		}
+		int capacity = 2;
+		while (capacity * LOAD_FACTOR < maximumSize) {
+			if (capacity == MAXIMUM_CAPACITY) {
+				throw new IllegalArgumentException("maximumSize too large: " + maximumSize);
+			}
+			capacity <<= 1;
+		}
+		if ((long) capacity * SLOT_BYTES + HEADER_BYTES > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("maximumSize too large: " + maximumSize);
+		}
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		slotCount = capacity;
+		maxSize = maximumSize;
+		dataStart = HEADER_BYTES + (long) slotCount * SLOT_BYTES;
+		table = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataStart);
+		table.putInt(MAGIC_OFFSET, MAGIC);
+		table.putInt(VERSION_OFFSET, VERSION);
+		table.putInt(SLOT_COUNT_OFFSET, slotCount);
+		table.putInt(MAXIMUM_SIZE_OFFSET, maxSize);
+		chunks = new MappedByteBuffer[1];
+	}
+
+	/*
+	 * Reopens a dictionary file written by this class. Only the header is read;
+	 * the entries are used in place.
+	 */
+	public MappedHashtable(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		while (header.hasRemaining() && channel.read(header, header.position()) >= 0)
+			;
+		if (header.hasRemaining() || header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+			channel.close();
+			throw new IOException("Not a MappedHashtable file: " + file);
+		}
+		slotCount = header.getInt(SLOT_COUNT_OFFSET);
+		maxSize = header.getInt(MAXIMUM_SIZE_OFFSET);
+		dataStart = HEADER_BYTES + (long) slotCount * SLOT_BYTES;
+		table = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataStart);
+		long dataEnd = table.getLong(DATA_END_OFFSET);
+		chunks = new MappedByteBuffer[(int) (dataEnd >>> CHUNK_SHIFT) + 1];
+	}
+
+	/*
+	 * Returns true if the dictionary has an object identified by key in it,
+	 * otherwise false.
+	 */
+	@Override
+	public boolean contains(String key) {
+		byte[] bytes = encodeLookup(key);
+		return bytes != null && contains(bytes);
+	}
+
+	/* Returns true if the dictionary has an entry whose UTF-8 key is key. */
+	public boolean contains(byte[] key) {
+		return findSlot(key, getHash(key)) >= 0;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the
+	 * dictionary is full, or if the key is a duplicate. Returns true if addition
+	 * succeeded. Throws IllegalArgumentException if key holds a lone surrogate.
+	 */
+	@Override
+	public boolean add(String key, byte[] value) {
+		return add(Utf8.encode(key), value);
+	}
+
+	/*
+	 * Adds the given UTF-8 key and value, with the same results as add. Throws
+	 * IllegalArgumentException if key is not valid UTF-8.
+	 */
+	public boolean add(byte[] key, byte[] value) {
+		Utf8.decode(key, 0, key.length); // Only to reject malformed keys
+		int hash = getHash(key);
+		int slot = getSlot(hash);
+		int freeSlot = -1;
+		long reference;
+		while ((reference = getReference(slot)) != EMPTY) {
+			if (reference == DELETED) {
+				if (freeSlot < 0) {
+					freeSlot = slot;
+				}
+			} else if (getSlotHash(slot) == hash && keyEquals(reference - 1, key)) {
+				return false;
+			}
+			slot = (slot + 1) & (slotCount - 1);
+		}
+		if (isFull()) {
+			return false;
+		}
+		if (freeSlot >= 0) {
+			slot = freeSlot;
+			setDeletedCount(getDeletedCount() - 1);
+		}
+		long offset = appendRecord(key, value);
+		table.putInt(getSlotPosition(slot) + 8, hash);
+		table.putLong(getSlotPosition(slot), offset + 1);
+		setNodesCount(size() + 1);
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	@Override
+	public boolean delete(String key) {
+		byte[] bytes = encodeLookup(key);
+		return bytes != null && delete(bytes);
+	}
+
+	/* Deletes the entry whose UTF-8 key is key, with the same results as delete. */
+	public boolean delete(byte[] key) {
+		if (size() == 0) {
+			return false;
+		}
+		int slot = findSlot(key, getHash(key));
+		if (slot < 0) {
+			return false;
+		}
+		long offset = getReference(slot) - 1;
+		table.putLong(getSlotPosition(slot), DELETED);
+		setNodesCount(size() - 1);
+		setDeletedCount(getDeletedCount() + 1);
+		long deadBytes = table.getLong(DEAD_BYTES_OFFSET) + getRecordLength(offset);
+		table.putLong(DEAD_BYTES_OFFSET, deadBytes);
+		if (getDeletedCount() > slotCount / 8) {
+			removeDeletedSlots();
+		}
+		if (deadBytes >= MIN_COMPACT_BYTES && deadBytes > table.getLong(DATA_END_OFFSET) / 2) {
+			compact();
+		}
+		return true;
+	}
+
+	/*
+	 * Returns a copy of the value associated with the parameter key. Returns null
+	 * if the key is not found or the dictionary is empty.
+	 */
+	@Override
+	public byte[] getValue(String key) {
+		byte[] bytes = encodeLookup(key);
+		return (bytes == null) ? null : getValue(bytes);
+	}
+
+	/* Returns a copy of the value whose UTF-8 key is key, or null. */
+	public byte[] getValue(byte[] key) {
+		if (size() == 0) {
+			return null;
+		}
+		int slot = findSlot(key, getHash(key));
+		if (slot < 0) {
+			return null;
+		}
+		long offset = getReference(slot) - 1;
+		ByteBuffer chunk = getChunk(offset);
+		int position = (int) (offset & (CHUNK_BYTES - 1));
+		return readBytes(chunk, position + RECORD_HEADER_BYTES + chunk.getInt(position), chunk.getInt(position + 4));
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the first one found.
+	 */
+	@Override
+	public String getKey(byte[] value) {
+		if (size() == 0) {
+			return null;
+		}
+		for (int slot = 0; slot < slotCount; slot++) {
+			long reference = getReference(slot);
+			if (reference == EMPTY || reference == DELETED) {
+				continue;
+			}
+			ByteBuffer chunk = getChunk(reference - 1);
+			int position = (int) ((reference - 1) & (CHUNK_BYTES - 1));
+			int keyLength = chunk.getInt(position);
+			if (bytesEqual(chunk, position + RECORD_HEADER_BYTES + keyLength, chunk.getInt(position + 4), value)) {
+				return decode(readBytes(chunk, position + RECORD_HEADER_BYTES, keyLength));
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary
+	 */
+	@Override
+	public int size() {
+		return table.getInt(NODES_COUNT_OFFSET);
+	}
+
+	/* Returns true if the dictionary is at maximum capacity */
+	@Override
+	public boolean isFull() {
+		return size() == maxSize;
+	}
+
+	/* Returns true if the dictionary is empty */
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/*
+	 * Returns the dictionary to an empty state. The data area is reused from the
+	 * start; the file keeps its length.
+	 */
+	@Override
+	public void clear() {
+		for (int slot = 0; slot < slotCount; slot++) {
+			table.putLong(getSlotPosition(slot), EMPTY);
+		}
+		setNodesCount(0);
+		setDeletedCount(0);
+		table.putLong(DATA_END_OFFSET, 0);
+		table.putLong(DEAD_BYTES_OFFSET, 0);
+	}
+
+	/*
+	 * Moves every live record down to the start of the data area, in offset
+	 * order, reclaiming the space of deleted records. New records are then
+	 * appended after the last live one, so the file stops growing while the
+	 * live data does not. Runs on its own from delete once deleted records hold
+	 * more than half of the data area.
+	 */
+	public void compact() {
+		int count = size();
+		long[] offsets = new long[count];
+		int[] slots = new int[count];
+		int j = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			long reference = getReference(slot);
+			if (reference != EMPTY && reference != DELETED) {
+				offsets[j] = reference - 1;
+				slots[j] = slot;
+				j++;
+			}
+		}
+		quickSort(offsets, slots, 0, count - 1);
+		long end = 0;
+		for (int i = 0; i < count; i++) {
+			long offset = offsets[i];
+			int recordLength = getRecordLength(offset);
+			if ((end & (CHUNK_BYTES - 1)) + recordLength > CHUNK_BYTES) {
+				end = ((end >>> CHUNK_SHIFT) + 1) << CHUNK_SHIFT;
+			}
+			// end never passes offset, so every record still to move is intact
+			if (end != offset) {
+				byte[] record = readBytes(getChunk(offset), (int) (offset & (CHUNK_BYTES - 1)), recordLength);
+				ByteBuffer view = getChunk(end).duplicate();
+				view.position((int) (end & (CHUNK_BYTES - 1)));
+				view.put(record);
+				table.putLong(getSlotPosition(slots[i]), end + 1);
+			}
+			end += recordLength;
+		}
+		table.putLong(DATA_END_OFFSET, end);
+		table.putLong(DEAD_BYTES_OFFSET, 0);
+	}
+
+	@Override
+	public Iterator<String> keys() {
+		return new KeyIteratorHelper();
+	}
+
+	@Override
+	public Iterator<byte[]> values() {
+		return new ValueIteratorHelper();
+	}
+
+	/* Writes every modified page of the mapping back to the file. */
+	public void force() {
+		table.force();
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i] != null) {
+				chunks[i].force();
+			}
+		}
+	}
+
+	/*
+	 * Forces the mapping to the file and closes it. The mapped memory itself is
+	 * released when the buffers are garbage collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		force();
+		channel.close();
+	}
+
+	/*
+	 * Method returns the UTF-8 bytes of a key to look up, or null if the key holds
+	 * a lone surrogate and so can never have been added.
+	 */
+	private static byte[] encodeLookup(String key) {
+		return Utf8.hasLoneSurrogate(key) ? null : key.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String decode(byte[] key) {
+		return new String(key, StandardCharsets.UTF_8);
+	}
+
+	/* Method returns the FNV-1a hash of the key bytes, finalized for mixing. */
+	private static int getHash(byte[] key) {
+		int h = 0x811C9DC5;
+		for (int i = 0; i < key.length; i++) {
+			h = (h ^ (key[i] & 0xFF)) * 0x01000193;
+		}
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		return h;
+	}
+
+	private int getSlot(int hash) {
+		return hash & (slotCount - 1);
+	}
+
+	private int getSlotPosition(int slot) {
+		return HEADER_BYTES + slot * SLOT_BYTES;
+	}
+
+	private long getReference(int slot) {
+		return table.getLong(getSlotPosition(slot));
+	}
+
+	private int getSlotHash(int slot) {
+		return table.getInt(getSlotPosition(slot) + 8);
+	}
+
+	private void setNodesCount(int count) {
+		table.putInt(NODES_COUNT_OFFSET, count);
+	}
+
+	private int getDeletedCount() {
+		return table.getInt(DELETED_COUNT_OFFSET);
+	}
+
+	private void setDeletedCount(int count) {
+		table.putInt(DELETED_COUNT_OFFSET, count);
+	}
+
+	/* Method returns the slot holding the key, or -1 if the key is absent. */
+	private int findSlot(byte[] key, int hash) {
+		int slot = getSlot(hash);
+		long reference;
+		while ((reference = getReference(slot)) != EMPTY) {
+			if (reference != DELETED && getSlotHash(slot) == hash && keyEquals(reference - 1, key)) {
+				return slot;
+			}
+			slot = (slot + 1) & (slotCount - 1);
+		}
+		return -1;
+	}
+
+	/* Method returns the length of the record at offset, header included. */
+	private int getRecordLength(long offset) {
+		ByteBuffer chunk = getChunk(offset);
+		int position = (int) (offset & (CHUNK_BYTES - 1));
+		return RECORD_HEADER_BYTES + chunk.getInt(position) + chunk.getInt(position + 4);
+	}
+
+	/* Method compares the key of the record at offset with key, byte by byte. */
+	private boolean keyEquals(long offset, byte[] key) {
+		ByteBuffer chunk = getChunk(offset);
+		int position = (int) (offset & (CHUNK_BYTES - 1));
+		return bytesEqual(chunk, position + RECORD_HEADER_BYTES, chunk.getInt(position), key);
+	}
+
+	private static boolean bytesEqual(ByteBuffer chunk, int position, int length, byte[] bytes) {
+		if (length != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (chunk.get(position + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] readBytes(ByteBuffer chunk, int position, int length) {
+		byte[] bytes = new byte[length];
+		ByteBuffer view = chunk.duplicate();
+		view.position(position);
+		view.get(bytes);
+		return bytes;
+	}
+
+	/*
+	 * Method appends a record to the data area and returns its offset. A record
+	 * that does not fit in the rest of the current chunk starts the next one.
+	 */
+	private long appendRecord(byte[] key, byte[] value) {
+		int recordLength = RECORD_HEADER_BYTES + key.length + value.length;
+		if (recordLength > CHUNK_BYTES || recordLength < 0) {
+			throw new IllegalArgumentException("Record larger than " + CHUNK_BYTES + " bytes");
+		}
+		long offset = table.getLong(DATA_END_OFFSET);
+		if ((offset & (CHUNK_BYTES - 1)) + recordLength > CHUNK_BYTES) {
+			offset = ((offset >>> CHUNK_SHIFT) + 1) << CHUNK_SHIFT;
+		}
+		ByteBuffer view = getChunk(offset, offset + recordLength).duplicate();
+		view.position((int) (offset & (CHUNK_BYTES - 1)));
+		view.putInt(key.length);
+		view.putInt(value.length);
+		view.put(key);
+		view.put(value);
+		table.putLong(DATA_END_OFFSET, offset + recordLength);
+		return offset;
+	}
+
+	/* Method returns the mapped chunk holding the data area offset. */
+	private MappedByteBuffer getChunk(long offset) {
+		return getChunk(offset, table.getLong(DATA_END_OFFSET));
+	}
+
+	/*
+	 * Method returns the mapped chunk holding the data area offset, mapped at
+	 * least up to the data area offset end. A mapping that falls short is
+	 * replaced by one twice as long, which extends the file by as much.
+	 */
+	private MappedByteBuffer getChunk(long offset, long end) {
+		int index = (int) (offset >>> CHUNK_SHIFT);
+		if (index >= chunks.length) {
+			MappedByteBuffer[] grown = new MappedByteBuffer[Math.max(index + 1, chunks.length * 2)];
+			System.arraycopy(chunks, 0, grown, 0, chunks.length);
+			chunks = grown;
+		}
+		long chunkStart = (long) index << CHUNK_SHIFT;
+		long needed = Math.min(CHUNK_BYTES, end - chunkStart);
+		MappedByteBuffer chunk = chunks[index];
+		if (chunk == null || chunk.capacity() < needed) {
+			long length = Math.max(needed, MIN_MAP_BYTES);
+			if (chunk != null) {
+				length = Math.max(length, 2L * chunk.capacity());
+			}
+			try {
+				chunk = channel.map(FileChannel.MapMode.READ_WRITE, dataStart + chunkStart, Math.min(CHUNK_BYTES, length));
+			} catch (IOException e) {
+				throw new IllegalStateException("Cannot map data chunk " + index, e);
+			}
+			chunks[index] = chunk;
+		}
+		return chunk;
+	}
+
+	/*
+	 * Method rebuilds the slot table without its deleted slots so that probe
+	 * sequences stay short. The records themselves do not move.
+	 */
+	private void removeDeletedSlots() {
+		int count = size();
+		long[] references = new long[count];
+		int[] hashes = new int[count];
+		int j = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			long reference = getReference(slot);
+			if (reference != EMPTY && reference != DELETED) {
+				references[j] = reference;
+				hashes[j] = getSlotHash(slot);
+				j++;
+			}
+			table.putLong(getSlotPosition(slot), EMPTY);
+		}
+		for (int i = 0; i < count; i++) {
+			int slot = getSlot(hashes[i]);
+			while (getReference(slot) != EMPTY) {
+				slot = (slot + 1) & (slotCount - 1);
+			}
+			table.putInt(getSlotPosition(slot) + 8, hashes[i]);
+			table.putLong(getSlotPosition(slot), references[i]);
+		}
+		setDeletedCount(0);
+	}
+
+	/* Method sorts record offsets ascending, keeping slots parallel to them. */
+	private static void quickSort(long[] offsets, int[] slots, int left, int right) {
+		while (left < right) {
+			long pivot = offsets[(left + right) >>> 1];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (offsets[i] < pivot)
+					i++;
+				while (offsets[j] > pivot)
+					j--;
+				if (i <= j) {
+					long tempOffset = offsets[i];
+					offsets[i] = offsets[j];
+					offsets[j] = tempOffset;
+					int tempSlot = slots[i];
+					slots[i++] = slots[j];
+					slots[j--] = tempSlot;
+				}
+			}
+			// Recurse into the smaller half to bound the stack depth
+			if (j - left < right - i) {
+				quickSort(offsets, slots, left, j);
+				left = i;
+			} else {
+				quickSort(offsets, slots, i, right);
+				right = j;
+			}
+		}
+	}
+
+	/*
+	 * SortedEntries reads every live record into keys and their record offsets
+	 * and sorts them by key, so both iterators return entries in sorted order of
+	 * keys.
+	 */
+	private class SortedEntries {
+		String[] keys;
+		long[] offsets;
+
+		SortedEntries() {
+			int count = size();
+			keys = new String[count];
+			offsets = new long[count];
+			int j = 0;
+			for (int slot = 0; slot < slotCount; slot++) {
+				long reference = getReference(slot);
+				if (reference != EMPTY && reference != DELETED) {
+					ByteBuffer chunk = getChunk(reference - 1);
+					int position = (int) ((reference - 1) & (CHUNK_BYTES - 1));
+					keys[j] = decode(readBytes(chunk, position + RECORD_HEADER_BYTES, chunk.getInt(position)));
+					offsets[j] = reference - 1;
+					j++;
+				}
+			}
+			quickSort(0, count - 1);
+		}
+
+		private void quickSort(int left, int right) {
+			while (left < right) {
+				String pivot = keys[(left + right) >>> 1];
+				int i = left;
+				int j = right;
+				while (i <= j) {
+					while (keys[i].compareTo(pivot) < 0)
+						i++;
+					while (keys[j].compareTo(pivot) > 0)
+						j--;
+					if (i <= j) {
+						swap(i++, j--);
+					}
+				}
+				// Recurse into the smaller half to bound the stack depth
+				if (j - left < right - i) {
+					quickSort(left, j);
+					left = i;
+				} else {
+					quickSort(i, right);
+					right = j;
+				}
+			}
+		}
+
+		private void swap(int i, int j) {
+			String tempKey = keys[i];
+			keys[i] = keys[j];
+			keys[j] = tempKey;
+			long tempOffset = offsets[i];
+			offsets[i] = offsets[j];
+			offsets[j] = tempOffset;
+		}
+	}
+
+	/*
+	 * KeyIteratorHelper class implements the method to iterate on dictionary and
+	 * retrieve keys in sorted order.
+	 */
+	protected class KeyIteratorHelper implements Iterator<String> {
+		private String[] keys;
+		private int index;
+
+		public KeyIteratorHelper() {
+			keys = new SortedEntries().keys;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < keys.length;
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return keys[index++];
+		}
+	}
+
+	/*
+	 * ValueIteratorHelper class implements the methods to iterate on dictionary and
+	 * retrieve values. Values will be retrieved in sorted order of keys.
+	 */
+	protected class ValueIteratorHelper implements Iterator<byte[]> {
+		private long[] offsets;
+		private int index;
+
+		public ValueIteratorHelper() {
+			offsets = new SortedEntries().offsets;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < offsets.length;
+		}
+
+		@Override
+		public byte[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			long offset = offsets[index++];
+			ByteBuffer chunk = getChunk(offset);
+			int position = (int) (offset & (CHUNK_BYTES - 1));
+			return readBytes(chunk, position + RECORD_HEADER_BYTES + chunk.getInt(position), chunk.getInt(position + 4));
+		}
+	}
+}
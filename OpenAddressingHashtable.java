@@ -0,0 +1,319 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * Open addressing implementation of DictionaryADT. Keys and values are kept in
+ * two flat parallel arrays and collisions are resolved by linear probing, so a
+ * lookup touches consecutive slots and never allocates. Deletion shifts the
+ * following entries of the probe run back instead of leaving tombstones.
+ */
+public class OpenAddressingHashtable<K extends Comparable<K>, V> implements DictionaryADT<K, V> {
+
+	/* Maximum fraction of slots that may be occupied when the table is full. */
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int MAXIMUM_CAPACITY = 1 << 30; // Largest slot count
+
+	private Object[] keyTable;
+	private Object[] valueTable;
+	int tableMask; // Slot count - 1, slot count is a power of two
+	int hashShift; // 32 - log2(slot count)
+	int maxSize; // Maximum nodes in hashtable
+	int currentNodesCount; // Current nodes in hashtable
+
+	// Constructor to initialize hash table
+	public OpenAddressingHashtable(int maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize is negative: " + maximumSize);
+		}
+		maxSize = maximumSize;
+		int capacity = 2;
+		while (capacity * LOAD_FACTOR < maximumSize) {
+			if (capacity == MAXIMUM_CAPACITY) {
+				throw new IllegalArgumentException("maximumSize too large: " + maximumSize);
+			}
+			capacity <<= 1;
+		}
+		keyTable = new Object[capacity];
+		valueTable = new Object[capacity];
+		tableMask = capacity - 1;
+		hashShift = 32 - Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/*
+	 * Returns true if the dictionary has an object identified by key in it,
+	 * otherwise false.
+	 */
+	@Override
+	public boolean contains(K key) {
+		return findSlot(key) >= 0;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the
+	 * dictionary is full, or if the key is a duplicate. Returns true if addition
+	 * succeeded. The duplicate check and the insertion share one probe sequence.
+	 */
+	@Override
+	public boolean add(K key, V value) {
+		int slot = getSlot(key);
+		Object current;
+		while ((current = keyTable[slot]) != null) {
+			if (current == key || key.compareTo((K) current) == 0) {
+				return false;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		if (isFull()) {
+			return false;
+		}
+		keyTable[slot] = key;
+		valueTable[slot] = value;
+		currentNodesCount++;
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	@Override
+	public boolean delete(K key) {
+		if (currentNodesCount == 0) {
+			return false;
+		}
+		int slot = findSlot(key);
+		if (slot < 0) {
+			return false;
+		}
+		shiftBack(slot);
+		currentNodesCount--;
+		return true;
+	}
+
+	/*
+	 * Returns the value associated with the parameter key. Returns null if the key
+	 * is not found or the dictionary is empty.
+	 */
+	@Override
+	public V getValue(K key) {
+		if (currentNodesCount == 0) {
+			return null;
+		}
+		int slot = findSlot(key);
+		if (slot < 0) {
+			return null;
+		}
+		return (V) valueTable[slot];
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the first one found.
+	 */
+	@Override
+	public K getKey(V value) {
+		if (currentNodesCount == 0) {
+			return null;
+		}
+		for (int i = 0; i < keyTable.length; i++) {
+			if (keyTable[i] != null && ((Comparable<V>) valueTable[i]).compareTo(value) == 0) {
+				return (K) keyTable[i];
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary
+	 */
+	@Override
+	public int size() {
+		return currentNodesCount;
+	}
+
+	/* Returns true if the dictionary is at maximum capacity */
+	@Override
+	public boolean isFull() {
+		return currentNodesCount == maxSize;
+	}
+
+	/* Returns true if the dictionary is empty */
+	@Override
+	public boolean isEmpty() {
+		return currentNodesCount == 0;
+	}
+
+	/* Returns the dictionary to an empty state. */
+	@Override
+	public void clear() {
+		for (int i = 0; i < keyTable.length; i++) {
+			keyTable[i] = null;
+			valueTable[i] = null;
+		}
+		currentNodesCount = 0;
+	}
+
+	@Override
+	public Iterator<K> keys() {
+		return new KeyIteratorHelper();
+	}
+
+	@Override
+	public Iterator<V> values() {
+		return new ValueIteratorHelper();
+	}
+
+	/* Method returns the home slot of the key using Fibonacci hashing. */
+	private int getSlot(K key) {
+		return (key.hashCode() * 0x9E3779B9) >>> hashShift & tableMask;
+	}
+
+	/* Method returns the slot holding the key, or -1 if the key is absent. */
+	private int findSlot(K key) {
+		int slot = getSlot(key);
+		Object current;
+		while ((current = keyTable[slot]) != null) {
+			if (current == key || key.compareTo((K) current) == 0) {
+				return slot;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		return -1;
+	}
+
+	/*
+	 * Method empties the given slot and moves back every following entry of the
+	 * probe run whose home slot allows it, so that no lookup ever stops early at
+	 * the freed slot.
+	 */
+	private void shiftBack(int gap) {
+		int slot = gap;
+		for (;;) {
+			slot = (slot + 1) & tableMask;
+			Object current = keyTable[slot];
+			if (current == null) {
+				break;
+			}
+			int home = getSlot((K) current);
+			if (((slot - home) & tableMask) >= ((slot - gap) & tableMask)) {
+				keyTable[gap] = current;
+				valueTable[gap] = valueTable[slot];
+				gap = slot;
+			}
+		}
+		keyTable[gap] = null;
+		valueTable[gap] = null;
+	}
+
+	/*
+	 * SortedEntries copies the occupied slots into two parallel arrays and sorts
+	 * them by key, so both iterators return entries in sorted order of keys.
+	 */
+	private class SortedEntries {
+		Object[] keys;
+		Object[] values;
+
+		SortedEntries() {
+			keys = new Object[currentNodesCount];
+			values = new Object[currentNodesCount];
+			int j = 0;
+			for (int i = 0; i < keyTable.length; i++) {
+				if (keyTable[i] != null) {
+					keys[j] = keyTable[i];
+					values[j] = valueTable[i];
+					j++;
+				}
+			}
+			quickSort(0, keys.length - 1);
+		}
+
+		private void quickSort(int left, int right) {
+			while (left < right) {
+				K pivot = (K) keys[(left + right) >>> 1];
+				int i = left;
+				int j = right;
+				while (i <= j) {
+					while (((K) keys[i]).compareTo(pivot) < 0)
+						i++;
+					while (((K) keys[j]).compareTo(pivot) > 0)
+						j--;
+					if (i <= j) {
+						swap(i++, j--);
+					}
+				}
+				// Recurse into the smaller half to bound the stack depth
+				if (j - left < right - i) {
+					quickSort(left, j);
+					left = i;
+				} else {
+					quickSort(i, right);
+					right = j;
+				}
+			}
+		}
+
+		private void swap(int i, int j) {
+			Object temp = keys[i];
+			keys[i] = keys[j];
+			keys[j] = temp;
+			temp = values[i];
+			values[i] = values[j];
+			values[j] = temp;
+		}
+	}
+
+	/*
+	 * KeyIteratorHelper class implements the method to iterate on dictionary and
+	 * retrieve keys in sorted order.
+	 */
+	protected class KeyIteratorHelper implements Iterator<K> {
+		private Object[] keys;
+		private int index;
+
+		public KeyIteratorHelper() {
+			keys = new SortedEntries().keys;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < keys.length;
+		}
+
+		@Override
+		public K next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (K) keys[index++];
+		}
+	}
+
+	/*
+	 * ValueIteratorHelper class implements the methods to iterate on dictionary and
+	 * retrieve values. Values will be retrieved in sorted order of keys.
+	 */
+	protected class ValueIteratorHelper implements Iterator<V> {
+		private Object[] values;
+		private int index;
+
+		public ValueIteratorHelper() {
+			values = new SortedEntries().values;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < values.length;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return (V) values[index++];
+		}
+	}
+}
@@ -0,0 +1,619 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * PersistentHashDictionary is a DictionaryADT stored in a hash array mapped
+ * trie. Every trie node is immutable once published: an update copies only the
+ * nodes on the path from the root to the changed entry and shares the rest with
+ * the previous version. The current version is a single volatile reference, so
+ * snapshot() is O(1) and a snapshot is never affected by later updates; readers
+ * of a snapshot need no lock and make no copy. Updates on the same dictionary
+ * are serialized, while reads never block.
+ *
+ * For batch construction, builder() returns a Builder that updates nodes it
+ * created itself in place instead of copying them, and hands the result back as
+ * a new dictionary with build().
+ */
+public class PersistentHashDictionary<K extends Comparable<K>, V> implements DictionaryADT<K, V> {
+
+	/* Bits of the hash consumed by each level of the trie. */
+	private static final int SHIFT = 5;
+	private static final int MASK = (1 << SHIFT) - 1;
+
+	/* Marks a lookup that found no entry, since a stored value may be null. */
+	private static final Object NOT_FOUND = new Object();
+
+	private static final Version EMPTY_VERSION = new Version(BitmapIndexedNode.EMPTY, 0);
+
+	private volatile Version version;
+
+	// Constructor to initialize an empty dictionary
+	public PersistentHashDictionary() {
+		version = EMPTY_VERSION;
+	}
+
+	private PersistentHashDictionary(Version version) {
+		this.version = version;
+	}
+
+	/*
+	 * Returns a dictionary holding the entries of this dictionary at the time of
+	 * the call. The two share every node and later updates to either one do not
+	 * affect the other.
+	 */
+	public PersistentHashDictionary<K, V> snapshot() {
+		return new PersistentHashDictionary<K, V>(version);
+	}
+
+	/*
+	 * Returns a Builder that starts from the entries of this dictionary. The
+	 * dictionary itself is not changed by the builder.
+	 */
+	public Builder<K, V> builder() {
+		Version current = version;
+		return new Builder<K, V>(current.root, current.size);
+	}
+
+	/*
+	 * Returns true if the dictionary has an object identified by key in it,
+	 * otherwise false.
+	 */
+	@Override
+	public boolean contains(K key) {
+		return version.root.find(0, getHash(key), key, NOT_FOUND) != NOT_FOUND;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the key is
+	 * a duplicate. Returns true if addition succeeded.
+	 */
+	@Override
+	public synchronized boolean add(K key, V value) {
+		Version current = version;
+		boolean[] changed = { false };
+		Node root = current.root.add(null, 0, getHash(key), key, value, changed);
+		if (!changed[0]) {
+			return false;
+		}
+		version = new Version(root, current.size + 1);
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	@Override
+	public synchronized boolean delete(K key) {
+		Version current = version;
+		boolean[] changed = { false };
+		Node root = current.root.delete(null, 0, getHash(key), key, changed);
+		if (!changed[0]) {
+			return false;
+		}
+		version = (root == null) ? EMPTY_VERSION : new Version(root, current.size - 1);
+		return true;
+	}
+
+	/*
+	 * Returns the value associated with the parameter key. Returns null if the key
+	 * is not found or the dictionary is empty.
+	 */
+	@Override
+	public V getValue(K key) {
+		Object value = version.root.find(0, getHash(key), key, NOT_FOUND);
+		return (value == NOT_FOUND) ? null : (V) value;
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the smallest such key.
+	 */
+	@Override
+	public K getKey(V value) {
+		Entries entries = new Entries(version);
+		K foundKey = null;
+		for (int i = 0; i < entries.count; i++) {
+			if (((Comparable<V>) entries.values[i]).compareTo(value) == 0) {
+				K key = (K) entries.keys[i];
+				if (foundKey == null || key.compareTo(foundKey) < 0) {
+					foundKey = key;
+				}
+			}
+		}
+		return foundKey;
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary
+	 */
+	@Override
+	public int size() {
+		return version.size;
+	}
+
+	/* Returns false as the dictionary grows instead of becoming full */
+	@Override
+	public boolean isFull() {
+		return false;
+	}
+
+	/* Returns true if the dictionary is empty */
+	@Override
+	public boolean isEmpty() {
+		return version.size == 0;
+	}
+
+	/* Returns the dictionary to an empty state. Snapshots keep their entries. */
+	@Override
+	public synchronized void clear() {
+		version = EMPTY_VERSION;
+	}
+
+	/*
+	 * Returns an Iterator of the keys in sorted order, taken from the version of
+	 * the dictionary current when the iterator is created.
+	 */
+	@Override
+	public Iterator<K> keys() {
+		return new IteratorHelper<K>(new Entries(version), true);
+	}
+
+	/*
+	 * Returns an Iterator of the values in sorted order of keys, taken from the
+	 * version of the dictionary current when the iterator is created.
+	 */
+	@Override
+	public Iterator<V> values() {
+		return new IteratorHelper<V>(new Entries(version), false);
+	}
+
+	/* Method spreads the key's hashCode so that every level sees well mixed bits. */
+	private static int getHash(Object key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		return h;
+	}
+
+	/* Method returns the bit for the hash's slot at the given level. */
+	private static int bitpos(int hash, int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+
+	private static boolean keyEquals(Object a, Object b) {
+		return ((Comparable<Object>) a).compareTo(b) == 0;
+	}
+
+	/* Version pairs a root with its entry count so both are published at once. */
+	private static final class Version {
+		final Node root;
+		final int size;
+
+		Version(Node root, int size) {
+			this.root = root;
+			this.size = size;
+		}
+	}
+
+	/*
+	 * Builder constructs a dictionary by batches of updates. It owns an edit token
+	 * and stamps it on every node it creates, so later updates through the same
+	 * builder change those nodes in place; nodes shared with a dictionary carry
+	 * another token and are still copied. A Builder is not thread safe and cannot
+	 * be used after build().
+	 */
+	public static final class Builder<K extends Comparable<K>, V> {
+		private Object edit = new Object();
+		private Node root;
+		private int size;
+
+		private Builder(Node root, int size) {
+			this.root = root;
+			this.size = size;
+		}
+
+		/* Adds the key/value pair. Returns false if the key is a duplicate. */
+		public boolean add(K key, V value) {
+			checkEdit();
+			boolean[] changed = { false };
+			root = root.add(edit, 0, getHash(key), key, value, changed);
+			if (!changed[0]) {
+				return false;
+			}
+			size++;
+			return true;
+		}
+
+		/* Deletes the pair identified by key. Returns false if it is not found. */
+		public boolean delete(K key) {
+			checkEdit();
+			boolean[] changed = { false };
+			Node newRoot = root.delete(edit, 0, getHash(key), key, changed);
+			if (!changed[0]) {
+				return false;
+			}
+			root = (newRoot == null) ? BitmapIndexedNode.EMPTY : newRoot;
+			size--;
+			return true;
+		}
+
+		/* Returns true if the builder holds an entry for key. */
+		public boolean contains(K key) {
+			checkEdit();
+			return root.find(0, getHash(key), key, NOT_FOUND) != NOT_FOUND;
+		}
+
+		/* Returns the number of entries added so far. */
+		public int size() {
+			return size;
+		}
+
+		/*
+		 * Returns a dictionary holding the entries of the builder. The builder gives
+		 * up its edit token, so the nodes it created are never changed again.
+		 */
+		public PersistentHashDictionary<K, V> build() {
+			checkEdit();
+			edit = null;
+			return new PersistentHashDictionary<K, V>(size == 0 ? EMPTY_VERSION : new Version(root, size));
+		}
+
+		private void checkEdit() {
+			if (edit == null) {
+				throw new IllegalStateException("Builder already built");
+			}
+		}
+	}
+
+	/*
+	 * Node is a trie node. An update returns the node itself when nothing changed,
+	 * a node that may be updated in place when edit matches the node's own token,
+	 * or else a new node. delete returns null for a node left empty.
+	 */
+	private static abstract class Node {
+		final Object edit;
+
+		Node(Object edit) {
+			this.edit = edit;
+		}
+
+		abstract Object find(int shift, int hash, Object key, Object notFound);
+
+		abstract Node add(Object edit, int shift, int hash, Object key, Object value, boolean[] changed);
+
+		abstract Node delete(Object edit, int shift, int hash, Object key, boolean[] changed);
+
+		/* Appends the node's entries to the given Entries. */
+		abstract void collect(Entries entries);
+
+		boolean isEditable(Object edit) {
+			return edit != null && this.edit == edit;
+		}
+	}
+
+	/*
+	 * BitmapIndexedNode holds the occupied slots of one level. Bit i of bitmap is
+	 * set if slot i is in use, and the slot's pair is at index bitCount of the
+	 * lower bits. A pair is either key and value, or null and a child node.
+	 */
+	private static final class BitmapIndexedNode extends Node {
+		static final BitmapIndexedNode EMPTY = new BitmapIndexedNode(null, 0, new Object[0]);
+
+		int bitmap;
+		Object[] array;
+
+		BitmapIndexedNode(Object edit, int bitmap, Object[] array) {
+			super(edit);
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		Object find(int shift, int hash, Object key, Object notFound) {
+			int bit = bitpos(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return notFound;
+			}
+			int index = index(bit);
+			Object keyOrNull = array[2 * index];
+			Object valueOrNode = array[2 * index + 1];
+			if (keyOrNull == null) {
+				return ((Node) valueOrNode).find(shift + SHIFT, hash, key, notFound);
+			}
+			return keyEquals(key, keyOrNull) ? valueOrNode : notFound;
+		}
+
+		@Override
+		Node add(Object edit, int shift, int hash, Object key, Object value, boolean[] changed) {
+			int bit = bitpos(hash, shift);
+			int index = index(bit);
+			if ((bitmap & bit) != 0) {
+				Object keyOrNull = array[2 * index];
+				Object valueOrNode = array[2 * index + 1];
+				if (keyOrNull == null) {
+					Node child = (Node) valueOrNode;
+					Node newChild = child.add(edit, shift + SHIFT, hash, key, value, changed);
+					if (newChild == child) {
+						return this;
+					}
+					return editAndSet(edit, 2 * index + 1, newChild);
+				}
+				if (keyEquals(key, keyOrNull)) {
+					return this;
+				}
+				changed[0] = true;
+				Node child = createNode(edit, shift + SHIFT, keyOrNull, valueOrNode, hash, key, value);
+				BitmapIndexedNode node = editAndSet(edit, 2 * index + 1, child);
+				node.array[2 * index] = null;
+				return node;
+			}
+			changed[0] = true;
+			int count = Integer.bitCount(bitmap);
+			if (isEditable(edit) && array.length >= 2 * count + 2) {
+				System.arraycopy(array, 2 * index, array, 2 * index + 2, 2 * (count - index));
+				array[2 * index] = key;
+				array[2 * index + 1] = value;
+				bitmap |= bit;
+				return this;
+			}
+			// A builder leaves room to grow in place; a persistent copy is exact
+			Object[] newArray = new Object[2 * (count + (edit == null ? 1 : 4))];
+			System.arraycopy(array, 0, newArray, 0, 2 * index);
+			newArray[2 * index] = key;
+			newArray[2 * index + 1] = value;
+			System.arraycopy(array, 2 * index, newArray, 2 * index + 2, 2 * (count - index));
+			return new BitmapIndexedNode(edit, bitmap | bit, newArray);
+		}
+
+		@Override
+		Node delete(Object edit, int shift, int hash, Object key, boolean[] changed) {
+			int bit = bitpos(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			int index = index(bit);
+			Object keyOrNull = array[2 * index];
+			Object valueOrNode = array[2 * index + 1];
+			if (keyOrNull == null) {
+				Node child = (Node) valueOrNode;
+				Node newChild = child.delete(edit, shift + SHIFT, hash, key, changed);
+				if (newChild == child) {
+					return this;
+				}
+				if (newChild != null) {
+					return editAndSet(edit, 2 * index + 1, newChild);
+				}
+			} else if (!keyEquals(key, keyOrNull)) {
+				return this;
+			} else {
+				changed[0] = true;
+			}
+			if (bitmap == bit) {
+				return null;
+			}
+			return removePair(edit, bit, index);
+		}
+
+		@Override
+		void collect(Entries entries) {
+			int count = Integer.bitCount(bitmap);
+			for (int i = 0; i < count; i++) {
+				if (array[2 * i] == null) {
+					((Node) array[2 * i + 1]).collect(entries);
+				} else {
+					entries.add(array[2 * i], array[2 * i + 1]);
+				}
+			}
+		}
+
+		/* Returns a node with array[i] set, copying this node unless editable. */
+		private BitmapIndexedNode editAndSet(Object edit, int i, Object value) {
+			BitmapIndexedNode node = isEditable(edit) ? this : new BitmapIndexedNode(edit, bitmap, array.clone());
+			node.array[i] = value;
+			return node;
+		}
+
+		private Node removePair(Object edit, int bit, int index) {
+			int count = Integer.bitCount(bitmap);
+			if (isEditable(edit)) {
+				System.arraycopy(array, 2 * index + 2, array, 2 * index, 2 * (count - index - 1));
+				array[2 * count - 2] = null;
+				array[2 * count - 1] = null;
+				bitmap ^= bit;
+				return this;
+			}
+			Object[] newArray = new Object[2 * (count - 1)];
+			System.arraycopy(array, 0, newArray, 0, 2 * index);
+			System.arraycopy(array, 2 * index + 2, newArray, 2 * index, 2 * (count - index - 1));
+			return new BitmapIndexedNode(edit, bitmap ^ bit, newArray);
+		}
+
+		/* Returns a node one level down holding two entries with different keys. */
+		private static Node createNode(Object edit, int shift, Object key1, Object value1, int hash2, Object key2,
+				Object value2) {
+			int hash1 = getHash(key1);
+			if (hash1 == hash2 || shift >= 32) {
+				return new CollisionNode(edit, hash1, 2, new Object[] { key1, value1, key2, value2 });
+			}
+			boolean[] changed = { false };
+			return EMPTY.add(edit, shift, hash1, key1, value1, changed).add(edit, shift, hash2, key2, value2,
+					changed);
+		}
+	}
+
+	/* CollisionNode holds the entries of keys whose hashes are all equal. */
+	private static final class CollisionNode extends Node {
+		final int hash;
+		int count;
+		Object[] array;
+
+		CollisionNode(Object edit, int hash, int count, Object[] array) {
+			super(edit);
+			this.hash = hash;
+			this.count = count;
+			this.array = array;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < count; i++) {
+				if (keyEquals(key, array[2 * i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		Object find(int shift, int hash, Object key, Object notFound) {
+			int index = indexOf(key);
+			return (index < 0) ? notFound : array[2 * index + 1];
+		}
+
+		@Override
+		Node add(Object edit, int shift, int hash, Object key, Object value, boolean[] changed) {
+			if (hash != this.hash) {
+				// Push this node one level down below a bitmap node
+				BitmapIndexedNode parent = new BitmapIndexedNode(edit, bitpos(this.hash, shift),
+						new Object[] { null, this });
+				return parent.add(edit, shift, hash, key, value, changed);
+			}
+			if (indexOf(key) >= 0) {
+				return this;
+			}
+			changed[0] = true;
+			if (isEditable(edit) && array.length >= 2 * count + 2) {
+				array[2 * count] = key;
+				array[2 * count + 1] = value;
+				count++;
+				return this;
+			}
+			Object[] newArray = new Object[2 * count + 2];
+			System.arraycopy(array, 0, newArray, 0, 2 * count);
+			newArray[2 * count] = key;
+			newArray[2 * count + 1] = value;
+			return new CollisionNode(edit, hash, count + 1, newArray);
+		}
+
+		@Override
+		Node delete(Object edit, int shift, int hash, Object key, boolean[] changed) {
+			int index = indexOf(key);
+			if (index < 0) {
+				return this;
+			}
+			changed[0] = true;
+			if (count == 1) {
+				return null;
+			}
+			if (isEditable(edit)) {
+				System.arraycopy(array, 2 * index + 2, array, 2 * index, 2 * (count - index - 1));
+				count--;
+				array[2 * count] = null;
+				array[2 * count + 1] = null;
+				return this;
+			}
+			Object[] newArray = new Object[2 * (count - 1)];
+			System.arraycopy(array, 0, newArray, 0, 2 * index);
+			System.arraycopy(array, 2 * index + 2, newArray, 2 * index, 2 * (count - index - 1));
+			return new CollisionNode(edit, hash, count - 1, newArray);
+		}
+
+		@Override
+		void collect(Entries entries) {
+			for (int i = 0; i < count; i++) {
+				entries.add(array[2 * i], array[2 * i + 1]);
+			}
+		}
+	}
+
+	/*
+	 * Entries gathers the pairs of one version into parallel arrays sorted by key.
+	 * The version never changes, so the arrays are exact.
+	 */
+	private static final class Entries {
+		final Object[] keys;
+		final Object[] values;
+		int count;
+
+		Entries(Version version) {
+			keys = new Object[version.size];
+			values = new Object[version.size];
+			version.root.collect(this);
+			quickSort(0, count - 1);
+		}
+
+		void add(Object key, Object value) {
+			keys[count] = key;
+			values[count++] = value;
+		}
+
+		private void quickSort(int left, int right) {
+			while (left < right) {
+				Comparable<Object> pivot = (Comparable<Object>) keys[(left + right) >>> 1];
+				int i = left;
+				int j = right;
+				while (i <= j) {
+					while (pivot.compareTo(keys[i]) > 0)
+						i++;
+					while (pivot.compareTo(keys[j]) < 0)
+						j--;
+					if (i <= j) {
+						swap(i++, j--);
+					}
+				}
+				// Recurse into the smaller half to bound the stack depth
+				if (j - left < right - i) {
+					quickSort(left, j);
+					left = i;
+				} else {
+					quickSort(i, right);
+					right = j;
+				}
+			}
+		}
+
+		private void swap(int i, int j) {
+			Object temp = keys[i];
+			keys[i] = keys[j];
+			keys[j] = temp;
+			temp = values[i];
+			values[i] = values[j];
+			values[j] = temp;
+		}
+	}
+
+	/* IteratorHelper returns the keys or the values of a sorted Entries. */
+	private static final class IteratorHelper<T> implements Iterator<T> {
+		private final Entries entries;
+		private final boolean returnKeys;
+		private int index;
+
+		IteratorHelper(Entries entries, boolean returnKeys) {
+			this.entries = entries;
+			this.returnKeys = returnKeys;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < entries.count;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Object result = returnKeys ? entries.keys[index] : entries.values[index];
+			index++;
+			return (T) result;
+		}
+	}
+}
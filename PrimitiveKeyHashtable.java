@@ -0,0 +1,151 @@
+package data_structures;
+
+/*
+ * PrimitiveKeyHashtable holds what the primitive-keyed hash tables share: the
+ * occupancy table and its sizing, the entry count, backward-shift deletion
+ * along a linear probe run, and the key order used by their iterators. The
+ * subclasses keep keys and values in flat arrays of their own types, probe for
+ * a key themselves so that no key is boxed, and give this class access to
+ * their entries by slot index only.
+ */
+abstract class PrimitiveKeyHashtable {
+
+	/* Maximum fraction of slots that may be occupied when the table is full. */
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int MAXIMUM_CAPACITY = 1 << 30; // Largest slot count
+
+	boolean[] usedTable;
+	int tableMask; // Slot count - 1, slot count is a power of two
+	int hashShift; // Hash bits - log2(slot count)
+	int maxSize; // Maximum entries in hashtable
+	int currentNodesCount; // Current entries in hashtable
+
+	/*
+	 * Constructor to size the table for maximumSize entries, for keys hashed to
+	 * hashBits bits. Subclasses allocate their key and value arrays to the
+	 * length of usedTable.
+	 */
+	PrimitiveKeyHashtable(int maximumSize, int hashBits) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("maximumSize is negative: " + maximumSize);
+		}
+		maxSize = maximumSize;
+		int capacity = 2;
+		while (capacity * LOAD_FACTOR < maximumSize) {
+			if (capacity == MAXIMUM_CAPACITY) {
+				throw new IllegalArgumentException("maximumSize too large: " + maximumSize);
+			}
+			capacity <<= 1;
+		}
+		usedTable = new boolean[capacity];
+		tableMask = capacity - 1;
+		hashShift = hashBits - Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/* Returns the home slot of the key stored in the given slot. */
+	abstract int getHomeSlot(int slot);
+
+	/* Copies the key and value stored in slot from into slot to. */
+	abstract void moveEntry(int from, int to);
+
+	/*
+	 * Returns a negative number, zero or a positive number as the key in slot a
+	 * is less than, equal to or greater than the key in slot b.
+	 */
+	abstract int compareKeys(int a, int b);
+
+	/* Releases any object referenced from the given slot once it is emptied. */
+	void clearEntry(int slot) {
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary
+	 */
+	public int size() {
+		return currentNodesCount;
+	}
+
+	/* Returns true if the dictionary is at maximum capacity */
+	public boolean isFull() {
+		return currentNodesCount == maxSize;
+	}
+
+	/* Returns true if the dictionary is empty */
+	public boolean isEmpty() {
+		return currentNodesCount == 0;
+	}
+
+	/* Returns the dictionary to an empty state. */
+	public void clear() {
+		for (int i = 0; i < usedTable.length; i++) {
+			if (usedTable[i]) {
+				clearEntry(i);
+				usedTable[i] = false;
+			}
+		}
+		currentNodesCount = 0;
+	}
+
+	/*
+	 * Method deletes the entry in the given slot. Every following entry of the
+	 * probe run whose home slot allows it is moved back, so that no lookup ever
+	 * stops early at the freed slot.
+	 */
+	final void deleteSlot(int gap) {
+		int slot = gap;
+		for (;;) {
+			slot = (slot + 1) & tableMask;
+			if (!usedTable[slot]) {
+				break;
+			}
+			int home = getHomeSlot(slot);
+			if (((slot - home) & tableMask) >= ((slot - gap) & tableMask)) {
+				moveEntry(slot, gap);
+				gap = slot;
+			}
+		}
+		clearEntry(gap);
+		usedTable[gap] = false;
+		currentNodesCount--;
+	}
+
+	/* Method returns the occupied slots in sorted order of their keys. */
+	final int[] getSortedSlots() {
+		int[] slots = new int[currentNodesCount];
+		int j = 0;
+		for (int i = 0; i < usedTable.length; i++) {
+			if (usedTable[i]) {
+				slots[j++] = i;
+			}
+		}
+		quickSort(slots, 0, slots.length - 1);
+		return slots;
+	}
+
+	private void quickSort(int[] slots, int left, int right) {
+		while (left < right) {
+			int pivot = slots[(left + right) >>> 1];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (compareKeys(slots[i], pivot) < 0)
+					i++;
+				while (compareKeys(slots[j], pivot) > 0)
+					j--;
+				if (i <= j) {
+					int temp = slots[i];
+					slots[i++] = slots[j];
+					slots[j--] = temp;
+				}
+			}
+			// Recurse into the smaller half to bound the stack depth
+			if (j - left < right - i) {
+				quickSort(slots, left, j);
+				left = i;
+			} else {
+				quickSort(slots, i, right);
+				right = j;
+			}
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package data_structures;
 
 import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface PriorityQueue<E extends Comparable<E>> extends Iterable<E> {
 
@@ -59,4 +61,18 @@ public interface PriorityQueue<E extends Comparable<E>> extends Iterable<E> {
 //	order.
 	public Iterator<E> iterator();
 
+//	Returns a sequential Stream of the objects in the PQ, in no particular
+
+//	order.
+	public default Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+//	Returns a parallel Stream of the objects in the PQ, split by the PQ's
+
+//	spliterator.
+	public default Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
 }
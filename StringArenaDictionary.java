@@ -0,0 +1,515 @@
+package data_structures;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * StringArenaDictionary is a DictionaryADT specialized for String keys. The
+ * UTF-8 bytes of all keys are packed into one growing byte arena, and each
+ * entry is a row of the parallel arrays keyOffsets, keyLengths, keyHashes and
+ * values. The hash table itself is an int array of entry numbers probed
+ * linearly, so an entry costs four array slots, its slot and its key bytes
+ * instead of a String, its byte array, a DictionaryNode and a list node.
+ *
+ * Lookups compare an ASCII key char by char against the arena and never create
+ * a String; keys with other characters are encoded once per call. byte[]
+ * overloads look up UTF-8 keys without decoding them. The bytes of deleted keys
+ * are reclaimed by compacting the arena once they make up half of it.
+ *
+ * Keys must be well-formed: a String key may not hold a lone surrogate, and a
+ * byte[] key must be valid UTF-8. Encoding would otherwise replace the bad
+ * part with a substitute and make distinct keys collide, so add rejects such
+ * keys with IllegalArgumentException and lookups report them absent.
+ */
+public class StringArenaDictionary<V> implements DictionaryADT<String, V> {
+
+	public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/* Maximum fraction of slots in use before the table doubles. */
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int MAXIMUM_CAPACITY = 1 << 30; // Largest slot count
+
+	private byte[] arena;
+	int arenaUsed; // Bytes of arena written
+	int garbageBytes; // Bytes of arena held by deleted keys
+
+	private int[] keyOffsets;
+	private int[] keyLengths;
+	private int[] keyHashes;
+	private Object[] values;
+	int currentNodesCount; // Current entries, stored in rows 0 .. currentNodesCount - 1
+
+	private int[] slots; // Entry number + 1 per slot, 0 for an empty slot
+	int tableMask; // Slot count - 1, slot count is a power of two
+	int hashShift; // 32 - log2(slot count)
+
+	// Constructor to initialize the dictionary with the default capacity
+	public StringArenaDictionary() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	// Constructor to initialize the dictionary for initialCapacity entries
+	public StringArenaDictionary(int initialCapacity) {
+		if (initialCapacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		int capacity = 2;
+		while (capacity * LOAD_FACTOR < initialCapacity) {
+			if (capacity == MAXIMUM_CAPACITY) {
+				throw new IllegalArgumentException("initialCapacity too large: " + initialCapacity);
+			}
+			capacity <<= 1;
+		}
+		arena = new byte[(int) Math.min(Integer.MAX_VALUE - 8, initialCapacity * 8L)];
+		keyOffsets = new int[initialCapacity];
+		keyLengths = new int[initialCapacity];
+		keyHashes = new int[initialCapacity];
+		values = new Object[initialCapacity];
+		createTable(capacity);
+	}
+
+	/*
+	 * Returns true if the dictionary has an object identified by key in it,
+	 * otherwise false.
+	 */
+	@Override
+	public boolean contains(String key) {
+		return findSlot(key) >= 0;
+	}
+
+	/* Returns true if the dictionary holds the key with the given UTF-8 bytes. */
+	public boolean contains(byte[] key) {
+		return findSlot(key, 0, key.length, getHash(key, 0, key.length)) >= 0;
+	}
+
+	/*
+	 * Adds the given key/value pair to the dictionary. Returns false if the key is
+	 * a duplicate. Returns true if addition succeeded. Throws
+	 * IllegalArgumentException if key holds a lone surrogate.
+	 */
+	@Override
+	public boolean add(String key, V value) {
+		if (findSlot(key) >= 0) {
+			return false;
+		}
+		byte[] bytes = Utf8.encode(key);
+		insert(bytes, 0, bytes.length, getHash(bytes, 0, bytes.length), value);
+		return true;
+	}
+
+	/*
+	 * Adds the pair for the key with the given UTF-8 bytes, as add(String, V).
+	 * Throws IllegalArgumentException if key is not valid UTF-8.
+	 */
+	public boolean add(byte[] key, V value) {
+		int hash = getHash(key, 0, key.length);
+		if (findSlot(key, 0, key.length, hash) >= 0) {
+			return false;
+		}
+		Utf8.decode(key, 0, key.length); // Only to reject malformed keys
+		insert(key, 0, key.length, hash, value);
+		return true;
+	}
+
+	/*
+	 * Deletes the key/value pair identified by the key parameter. Returns true if
+	 * the key/value pair was found and removed, otherwise false.
+	 */
+	@Override
+	public boolean delete(String key) {
+		return deleteSlot(findSlot(key));
+	}
+
+	/* Deletes the pair for the key with the given UTF-8 bytes, as delete(String). */
+	public boolean delete(byte[] key) {
+		return deleteSlot(findSlot(key, 0, key.length, getHash(key, 0, key.length)));
+	}
+
+	/*
+	 * Returns the value associated with the parameter key. Returns null if the key
+	 * is not found or the dictionary is empty.
+	 */
+	@Override
+	public V getValue(String key) {
+		int slot = findSlot(key);
+		return (slot < 0) ? null : (V) values[slots[slot] - 1];
+	}
+
+	/* Returns the value for the key with the given UTF-8 bytes, or null. */
+	public V getValue(byte[] key) {
+		return getValue(key, 0, key.length);
+	}
+
+	/*
+	 * Returns the value for the key held in key[offset .. offset + length - 1] as
+	 * UTF-8, or null, so that keys can be looked up straight from an I/O buffer.
+	 */
+	public V getValue(byte[] key, int offset, int length) {
+		int slot = findSlot(key, offset, length, getHash(key, offset, length));
+		return (slot < 0) ? null : (V) values[slots[slot] - 1];
+	}
+
+	/*
+	 * Returns the key associated with the parameter value. Returns null if the
+	 * value is not found in the dictionary. If more than one key exists that
+	 * matches the given value, returns the first one found.
+	 */
+	@Override
+	public String getKey(V value) {
+		for (int i = 0; i < currentNodesCount; i++) {
+			if (((Comparable<V>) values[i]).compareTo(value) == 0) {
+				return getKeyString(i);
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Returns the number of key/value pairs currently stored in the dictionary
+	 */
+	@Override
+	public int size() {
+		return currentNodesCount;
+	}
+
+	/* Returns false as the dictionary grows instead of becoming full */
+	@Override
+	public boolean isFull() {
+		return false;
+	}
+
+	/* Returns true if the dictionary is empty */
+	@Override
+	public boolean isEmpty() {
+		return currentNodesCount == 0;
+	}
+
+	/* Returns the dictionary to an empty state, keeping its capacity. */
+	@Override
+	public void clear() {
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = 0;
+		}
+		for (int i = 0; i < currentNodesCount; i++) {
+			values[i] = null;
+		}
+		currentNodesCount = 0;
+		arenaUsed = 0;
+		garbageBytes = 0;
+	}
+
+	/*
+	 * Returns an Iterator of the keys in sorted order. Keys are decoded into
+	 * Strings only here, when the iterator is created.
+	 */
+	@Override
+	public Iterator<String> keys() {
+		return new IteratorHelper<String>(true);
+	}
+
+	/* Returns an Iterator of the values in sorted order of keys. */
+	@Override
+	public Iterator<V> values() {
+		return new IteratorHelper<V>(false);
+	}
+
+	/*
+	 * Rewrites the arena without the bytes of deleted keys, sized to the live
+	 * keys. Runs by itself once deleted keys hold half of the arena.
+	 */
+	public void compact() {
+		byte[] newArena = new byte[Math.max(16, arenaUsed - garbageBytes)];
+		int used = 0;
+		for (int i = 0; i < currentNodesCount; i++) {
+			System.arraycopy(arena, keyOffsets[i], newArena, used, keyLengths[i]);
+			keyOffsets[i] = used;
+			used += keyLengths[i];
+		}
+		arena = newArena;
+		arenaUsed = used;
+		garbageBytes = 0;
+	}
+
+	/* Returns the number of bytes of key data held by the arena. */
+	public int getArenaSize() {
+		return arenaUsed;
+	}
+
+	/*
+	 * Method returns the FNV-1a hash of the given bytes. ASCII keys are hashed
+	 * char by char with the same function, so both must stay in step.
+	 */
+	private static int getHash(byte[] bytes, int offset, int length) {
+		int h = 0x811C9DC5;
+		for (int i = offset; i < offset + length; i++) {
+			h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+		}
+		return h;
+	}
+
+	/* Method returns the home slot of a hash using Fibonacci hashing. */
+	private int getSlot(int hash) {
+		return (hash * 0x9E3779B9) >>> hashShift & tableMask;
+	}
+
+	/*
+	 * Method returns the slot of the entry for key, or -1 if it is absent. An
+	 * ASCII key is hashed and compared without encoding it; any other key is
+	 * encoded to UTF-8 and looked up by its bytes.
+	 */
+	private int findSlot(String key) {
+		int length = key.length();
+		int h = 0x811C9DC5;
+		for (int i = 0; i < length; i++) {
+			char c = key.charAt(i);
+			if (c >= 0x80) {
+				if (Utf8.hasLoneSurrogate(key)) {
+					return -1;
+				}
+				byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+				return findSlot(bytes, 0, bytes.length, getHash(bytes, 0, bytes.length));
+			}
+			h = (h ^ c) * 0x01000193;
+		}
+		int slot = getSlot(h);
+		int entry;
+		while ((entry = slots[slot] - 1) >= 0) {
+			if (keyHashes[entry] == h && keyLengths[entry] == length && equalsAscii(entry, key)) {
+				return slot;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		return -1;
+	}
+
+	/* Method returns the slot of the entry for the given UTF-8 bytes, or -1. */
+	private int findSlot(byte[] key, int offset, int length, int hash) {
+		int slot = getSlot(hash);
+		int entry;
+		while ((entry = slots[slot] - 1) >= 0) {
+			if (keyHashes[entry] == hash && keyLengths[entry] == length && equalsBytes(entry, key, offset)) {
+				return slot;
+			}
+			slot = (slot + 1) & tableMask;
+		}
+		return -1;
+	}
+
+	/* Method compares the entry's key with an ASCII key of the same length. */
+	private boolean equalsAscii(int entry, String key) {
+		int offset = keyOffsets[entry];
+		for (int i = 0; i < key.length(); i++) {
+			if (arena[offset + i] != (byte) key.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Method compares the entry's key with bytes of the same length. */
+	private boolean equalsBytes(int entry, byte[] key, int keyOffset) {
+		int offset = keyOffsets[entry];
+		for (int i = 0; i < keyLengths[entry]; i++) {
+			if (arena[offset + i] != key[keyOffset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String getKeyString(int entry) {
+		return new String(arena, keyOffsets[entry], keyLengths[entry], StandardCharsets.UTF_8);
+	}
+
+	/* Method appends a key known to be absent to the arena and the table. */
+	private void insert(byte[] key, int offset, int length, int hash, V value) {
+		if (arenaUsed + length > arena.length) {
+			byte[] newArena = new byte[(int) Math.min(Integer.MAX_VALUE - 8,
+					Math.max((long) arena.length * 2, (long) arenaUsed + length))];
+			System.arraycopy(arena, 0, newArena, 0, arenaUsed);
+			arena = newArena;
+		}
+		if (currentNodesCount == keyOffsets.length) {
+			growEntries();
+		}
+		int entry = currentNodesCount;
+		System.arraycopy(key, offset, arena, arenaUsed, length);
+		keyOffsets[entry] = arenaUsed;
+		keyLengths[entry] = length;
+		keyHashes[entry] = hash;
+		values[entry] = value;
+		arenaUsed += length;
+		currentNodesCount++;
+		if (currentNodesCount > slots.length * LOAD_FACTOR && slots.length < MAXIMUM_CAPACITY) {
+			createTable(slots.length * 2);
+		} else {
+			int slot = getSlot(hash);
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & tableMask;
+			}
+			slots[slot] = entry + 1;
+		}
+	}
+
+	private void growEntries() {
+		int capacity = keyOffsets.length * 2;
+		int[] newOffsets = new int[capacity];
+		int[] newLengths = new int[capacity];
+		int[] newHashes = new int[capacity];
+		Object[] newValues = new Object[capacity];
+		System.arraycopy(keyOffsets, 0, newOffsets, 0, currentNodesCount);
+		System.arraycopy(keyLengths, 0, newLengths, 0, currentNodesCount);
+		System.arraycopy(keyHashes, 0, newHashes, 0, currentNodesCount);
+		System.arraycopy(values, 0, newValues, 0, currentNodesCount);
+		keyOffsets = newOffsets;
+		keyLengths = newLengths;
+		keyHashes = newHashes;
+		values = newValues;
+	}
+
+	/*
+	 * Method replaces the slot table by one of the given size and reinserts every
+	 * entry from its stored hash, so no key is read or hashed again.
+	 */
+	private void createTable(int capacity) {
+		slots = new int[capacity];
+		tableMask = capacity - 1;
+		hashShift = 32 - Integer.numberOfTrailingZeros(capacity);
+		for (int entry = 0; entry < currentNodesCount; entry++) {
+			int slot = getSlot(keyHashes[entry]);
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & tableMask;
+			}
+			slots[slot] = entry + 1;
+		}
+	}
+
+	/*
+	 * Method deletes the entry in the given slot, if any. The last entry row is
+	 * moved into the freed row so that rows stay dense, and the arena is compacted
+	 * once deleted keys hold half of it.
+	 */
+	private boolean deleteSlot(int slot) {
+		if (slot < 0) {
+			return false;
+		}
+		int entry = slots[slot] - 1;
+		shiftBack(slot);
+		garbageBytes += keyLengths[entry];
+		int last = currentNodesCount - 1;
+		if (entry != last) {
+			int lastSlot = getSlot(keyHashes[last]);
+			while (slots[lastSlot] != last + 1) {
+				lastSlot = (lastSlot + 1) & tableMask;
+			}
+			slots[lastSlot] = entry + 1;
+			keyOffsets[entry] = keyOffsets[last];
+			keyLengths[entry] = keyLengths[last];
+			keyHashes[entry] = keyHashes[last];
+			values[entry] = values[last];
+		}
+		values[last] = null;
+		currentNodesCount--;
+		if (currentNodesCount == 0) {
+			arenaUsed = 0;
+			garbageBytes = 0;
+		} else if (garbageBytes > arenaUsed / 2) {
+			compact();
+		}
+		return true;
+	}
+
+	/*
+	 * Method empties the given slot and moves back every following entry of the
+	 * probe run whose home slot allows it, so that no lookup ever stops early at
+	 * the freed slot.
+	 */
+	private void shiftBack(int gap) {
+		int slot = gap;
+		for (;;) {
+			slot = (slot + 1) & tableMask;
+			int current = slots[slot];
+			if (current == 0) {
+				break;
+			}
+			int home = getSlot(keyHashes[current - 1]);
+			if (((slot - home) & tableMask) >= ((slot - gap) & tableMask)) {
+				slots[gap] = current;
+				gap = slot;
+			}
+		}
+		slots[gap] = 0;
+	}
+
+	/*
+	 * IteratorHelper decodes the keys once, sorts them together with their entry
+	 * numbers, and returns either the keys or the values in that order.
+	 */
+	private class IteratorHelper<T> implements Iterator<T> {
+		private final String[] sortedKeys;
+		private final Object[] sortedValues;
+		private final boolean returnKeys;
+		private int index;
+
+		public IteratorHelper(boolean returnKeys) {
+			this.returnKeys = returnKeys;
+			sortedKeys = new String[currentNodesCount];
+			sortedValues = new Object[currentNodesCount];
+			for (int i = 0; i < currentNodesCount; i++) {
+				sortedKeys[i] = getKeyString(i);
+				sortedValues[i] = values[i];
+			}
+			quickSort(0, currentNodesCount - 1);
+		}
+
+		private void quickSort(int left, int right) {
+			while (left < right) {
+				String pivot = sortedKeys[(left + right) >>> 1];
+				int i = left;
+				int j = right;
+				while (i <= j) {
+					while (sortedKeys[i].compareTo(pivot) < 0)
+						i++;
+					while (sortedKeys[j].compareTo(pivot) > 0)
+						j--;
+					if (i <= j) {
+						swap(i++, j--);
+					}
+				}
+				// Recurse into the smaller half to bound the stack depth
+				if (j - left < right - i) {
+					quickSort(left, j);
+					left = i;
+				} else {
+					quickSort(i, right);
+					right = j;
+				}
+			}
+		}
+
+		private void swap(int i, int j) {
+			String key = sortedKeys[i];
+			sortedKeys[i] = sortedKeys[j];
+			sortedKeys[j] = key;
+			Object value = sortedValues[i];
+			sortedValues[i] = sortedValues[j];
+			sortedValues[j] = value;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < sortedKeys.length;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Object result = returnKeys ? sortedKeys[index] : sortedValues[index];
+			index++;
+			return (T) result;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package data_structures;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Utf8 holds the UTF-8 conversions of the dictionaries that store String keys
+ * as bytes. String.getBytes replaces a surrogate that is not part of a pair
+ * with '?', and the String constructor replaces malformed bytes with U+FFFD,
+ * so either would let two different keys share one encoding. These methods
+ * reject such input instead.
+ */
+final class Utf8 {
+
+	private Utf8() {
+	}
+
+	/*
+	 * Returns true if value holds a surrogate that is not part of a pair, which
+	 * UTF-8 cannot encode.
+	 */
+	static boolean hasLoneSurrogate(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+				i++;
+			} else if (Character.isSurrogate(c)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Returns the UTF-8 bytes of value. Throws IllegalArgumentException if value
+	 * holds a lone surrogate.
+	 */
+	static byte[] encode(String value) {
+		if (hasLoneSurrogate(value)) {
+			throw new IllegalArgumentException("String holds a lone surrogate");
+		}
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/*
+	 * Returns the String encoded by the length bytes at offset. Throws
+	 * IllegalArgumentException if the bytes are not valid UTF-8.
+	 */
+	static String decode(byte[] bytes, int offset, int length) {
+		try {
+			// A new decoder reports malformed input instead of replacing it
+			return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes, offset, length)).toString();
+		} catch (CharacterCodingException e) {
+			throw new IllegalArgumentException("Bytes are not valid UTF-8", e);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package data_structures;
+
+/*
+ * Benchmark times a task over a number of rounds, after warm-up rounds that
+ * let the JIT compile it, and prints the median time per operation. The median
+ * of several rounds hides most of the GC and scheduling noise a single timing
+ * picks up, without a harness such as JMH. Every task returns a checksum that
+ * is printed with the result, so the JIT cannot discard the work as unused.
+ */
+final class Benchmark {
+
+	static final int WARMUP_ROUNDS = 3;
+	static final int ROUNDS = 5;
+
+	/* A unit of work to time. Returns a checksum of what it computed. */
+	interface Task {
+		public long run();
+	}
+
+	/* Work done before each round and left out of its time, such as a refill. */
+	interface Setup {
+		public void run();
+	}
+
+	private Benchmark() {
+	}
+
+	/*
+	 * Runs setup and then task WARMUP_ROUNDS + ROUNDS times, timing only task,
+	 * and prints the median nanoseconds per operation of the timed rounds.
+	 * Returns that median.
+	 */
+	static double measure(String name, long operations, Setup setup, Task task) {
+		double[] times = new double[ROUNDS];
+		long checksum = 0;
+		for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+			if (setup != null) {
+				setup.run();
+			}
+			long start = System.nanoTime();
+			checksum += task.run();
+			long elapsed = System.nanoTime() - start;
+			if (round >= 0) {
+				times[round] = (double) elapsed / operations;
+			}
+		}
+		double median = median(times);
+		System.out.printf("%-48s %12.1f ns/op   (checksum %d)%n", name, median, checksum);
+		return median;
+	}
+
+	/* Runs task without setup, as measure(name, operations, null, task). */
+	static double measure(String name, long operations, Task task) {
+		return measure(name, operations, null, task);
+	}
+
+	/* Returns the median of values, sorting them in place. */
+	private static double median(double[] values) {
+		for (int i = 1; i < values.length; i++) {
+			double value = values[i];
+			int j = i - 1;
+			while (j >= 0 && values[j] > value) {
+				values[j + 1] = values[j];
+				j--;
+			}
+			values[j + 1] = value;
+		}
+		int middle = values.length / 2;
+		return (values.length % 2 == 1) ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+	}
+
+	/* Parses the element counts given on the command line, or returns defaults. */
+	static int[] getSizes(String[] args, int... defaults) {
+		if (args.length == 0) {
+			return defaults;
+		}
+		int[] sizes = new int[args.length];
+		for (int i = 0; i < args.length; i++) {
+			sizes[i] = Integer.parseInt(args[i].replace("_", ""));
+		}
+		return sizes;
+	}
+}
@@ -0,0 +1,210 @@
+package data_structures;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+
+/*
+ * Compares the throughput of ConcurrentSkipListDictionary with a growable
+ * Hashtable behind one global lock, and with the lock-striped
+ * ConcurrentHashtable and the JDK's ConcurrentSkipListMap for reference, as
+ * the number of threads grows. Each
+ * thread runs a mix of getValue, add and delete on random keys of a key space
+ * that starts half full; a read-heavy mix and a write-heavy mix are timed.
+ * The time per operation is wall time divided by the operations of all
+ * threads, so it falls as threads are added if the dictionary scales.
+ *
+ * Run with the thread counts to test, e.g.
+ *   java -cp out data_structures.ConcurrentDictionaryBenchmark 1 2 4 8
+ * Scaling is only visible with at least as many cores as threads.
+ */
+public class ConcurrentDictionaryBenchmark {
+
+	private static final int KEY_SPACE = 1 << 17;
+	private static final int OPERATIONS_PER_THREAD = 1 << 20;
+
+	/* The operations timed, applied to one of the dictionaries under test. */
+	private interface Target {
+		public Integer getValue(Integer key);
+
+		public boolean add(Integer key, Integer value);
+
+		public boolean delete(Integer key);
+
+		public void clear();
+	}
+
+	public static void main(String[] args) {
+		int[] threadCounts = Benchmark.getSizes(args, 1, 2, 4, 8);
+		Integer[] keys = new Integer[KEY_SPACE];
+		for (int i = 0; i < KEY_SPACE; i++) {
+			keys[i] = i;
+		}
+		System.out.println("available processors = " + Runtime.getRuntime().availableProcessors());
+		for (int readPercent : new int[] { 90, 50 }) {
+			for (int threads : threadCounts) {
+				System.out.println(readPercent + "% getValue, " + threads + " thread(s)");
+				run("ConcurrentSkipListDictionary", skipList(), threads, readPercent, keys);
+				run("java.util ConcurrentSkipListMap", skipListMap(), threads, readPercent, keys);
+				run("Hashtable, global lock", lockedHashtable(), threads, readPercent, keys);
+				run("ConcurrentHashtable", concurrentHashtable(), threads, readPercent, keys);
+				System.out.println();
+			}
+		}
+	}
+
+	private static Target skipList() {
+		final ConcurrentSkipListDictionary<Integer, Integer> dictionary = new ConcurrentSkipListDictionary<Integer, Integer>();
+		return new Target() {
+			public Integer getValue(Integer key) {
+				return dictionary.getValue(key);
+			}
+
+			public boolean add(Integer key, Integer value) {
+				return dictionary.add(key, value);
+			}
+
+			public boolean delete(Integer key) {
+				return dictionary.delete(key);
+			}
+
+			public void clear() {
+				dictionary.clear();
+			}
+		};
+	}
+
+	private static Target skipListMap() {
+		final ConcurrentSkipListMap<Integer, Integer> map = new ConcurrentSkipListMap<Integer, Integer>();
+		return new Target() {
+			public Integer getValue(Integer key) {
+				return map.get(key);
+			}
+
+			public boolean add(Integer key, Integer value) {
+				return map.putIfAbsent(key, value) == null;
+			}
+
+			public boolean delete(Integer key) {
+				return map.remove(key) != null;
+			}
+
+			public void clear() {
+				map.clear();
+			}
+		};
+	}
+
+	private static Target lockedHashtable() {
+		final Hashtable<Integer, Integer> dictionary = new Hashtable<Integer, Integer>();
+		return new Target() {
+			public synchronized Integer getValue(Integer key) {
+				return dictionary.getValue(key);
+			}
+
+			public synchronized boolean add(Integer key, Integer value) {
+				return dictionary.add(key, value);
+			}
+
+			public synchronized boolean delete(Integer key) {
+				return dictionary.delete(key);
+			}
+
+			public synchronized void clear() {
+				dictionary.clear();
+			}
+		};
+	}
+
+	private static Target concurrentHashtable() {
+		final ConcurrentHashtable<Integer, Integer> dictionary = new ConcurrentHashtable<Integer, Integer>();
+		return new Target() {
+			public Integer getValue(Integer key) {
+				return dictionary.getValue(key);
+			}
+
+			public boolean add(Integer key, Integer value) {
+				return dictionary.add(key, value);
+			}
+
+			public boolean delete(Integer key) {
+				return dictionary.delete(key);
+			}
+
+			public void clear() {
+				dictionary.clear();
+			}
+		};
+	}
+
+	private static void run(String name, final Target target, final int threads, final int readPercent,
+			final Integer[] keys) {
+		Benchmark.Setup fill = new Benchmark.Setup() {
+			public void run() {
+				target.clear();
+				for (int i = 0; i < keys.length; i += 2) {
+					target.add(keys[i], i);
+				}
+			}
+		};
+		Benchmark.measure(name, (long) threads * OPERATIONS_PER_THREAD, fill, new Benchmark.Task() {
+			public long run() {
+				return runThreads(target, threads, readPercent, keys);
+			}
+		});
+	}
+
+	/*
+	 * Method starts the threads together, waits for all of them and returns the
+	 * sum of their checksums.
+	 */
+	private static long runThreads(final Target target, int threads, final int readPercent, final Integer[] keys) {
+		final CountDownLatch start = new CountDownLatch(1);
+		final long[] checksums = new long[threads];
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int id = t;
+			workers[t] = new Thread() {
+				public void run() {
+					Random random = new Random(id);
+					long checksum = 0;
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+						Integer key = keys[random.nextInt(keys.length)];
+						int operation = random.nextInt(100);
+						if (operation < readPercent) {
+							Integer value = target.getValue(key);
+							if (value != null) {
+								checksum += value;
+							}
+						} else if ((operation & 1) == 0) {
+							if (target.add(key, i)) {
+								checksum++;
+							}
+						} else if (target.delete(key)) {
+							checksum--;
+						}
+					}
+					checksums[id] = checksum;
+				}
+			};
+			workers[t].start();
+		}
+		start.countDown();
+		long sum = 0;
+		for (int t = 0; t < threads; t++) {
+			try {
+				workers[t].join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+			sum += checksums[t];
+		}
+		return sum;
+	}
+}
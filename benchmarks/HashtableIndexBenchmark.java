@@ -0,0 +1,68 @@
+package data_structures;
+
+import java.util.Random;
+
+/*
+ * Compares Hashtable lookups when the bucket index is taken by modulo and when
+ * it is taken by masking a power of two table. Every table size is a power of
+ * two, so with the same hash strategy both modes put each key in the same
+ * bucket and only the index computation differs. The default IDENTITY
+ * strategy with modulo is included as the baseline callers start from.
+ *
+ * Run with the element counts to test, e.g.
+ *   java -cp out data_structures.HashtableIndexBenchmark 1024 131072 1048576
+ * Sizes are rounded up to a power of two, and to at least 2; the size used is
+ * the one printed.
+ */
+public class HashtableIndexBenchmark {
+
+	/* Each round does at least this many lookups, so small tables time well. */
+	private static final int MIN_LOOKUPS = 1 << 21;
+
+	public static void main(String[] args) {
+		int[] sizes = Benchmark.getSizes(args, 1 << 10, 1 << 17, 1 << 20);
+		for (int size : sizes) {
+			int n = Math.max(2, Integer.highestOneBit(size - 1) << 1);
+			Random random = new Random(n);
+			Integer[] keys = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				keys[i] = random.nextInt();
+			}
+			// Look the keys up in an order unrelated to insertion
+			Integer[] lookups = keys.clone();
+			for (int i = n - 1; i > 0; i--) {
+				int j = random.nextInt(i + 1);
+				Integer temp = lookups[i];
+				lookups[i] = lookups[j];
+				lookups[j] = temp;
+			}
+			System.out.println((n == size) ? "n = " + n : "n = " + n + " (rounded from " + size + ")");
+			run("modulo, IDENTITY", new Hashtable<Integer, Integer>(n), keys, lookups);
+			run("modulo, SPREAD", new Hashtable<Integer, Integer>(n, HashStrategy.SPREAD, false), keys, lookups);
+			run("mask, SPREAD", new Hashtable<Integer, Integer>(n, HashStrategy.SPREAD, true), keys, lookups);
+			System.out.println();
+		}
+	}
+
+	private static void run(String name, final Hashtable<Integer, Integer> table, Integer[] keys,
+			final Integer[] lookups) {
+		for (int i = 0; i < keys.length; i++) {
+			table.add(keys[i], i);
+		}
+		final int repeats = Math.max(1, MIN_LOOKUPS / lookups.length);
+		Benchmark.measure("getValue, " + name, (long) repeats * lookups.length, new Benchmark.Task() {
+			public long run() {
+				long sum = 0;
+				for (int r = 0; r < repeats; r++) {
+					for (int i = 0; i < lookups.length; i++) {
+						Integer value = table.getValue(lookups[i]);
+						if (value != null) {
+							sum += value;
+						}
+					}
+				}
+				return sum;
+			}
+		});
+	}
+}
@@ -0,0 +1,65 @@
+package data_structures;
+
+import java.util.Random;
+
+/*
+ * Compares the remove throughput of BinaryHeapPriorityQueue with
+ * DaryHeapPriorityQueue of arity 4 and 8, and of arity 8 with the aligned
+ * layout. Each round fills a queue with the same random Integers, untimed, and
+ * then times draining it with remove, so the time per operation is the cost of
+ * one remove averaged over every heap size from n down to 1.
+ *
+ * Run with the element counts to test, e.g.
+ *   java -Xmx3g -cp out data_structures.PriorityQueueBenchmark 10000 1000000 10000000
+ * Ten million elements need a heap of about 3 GB.
+ */
+public class PriorityQueueBenchmark {
+
+	/* Untimed removes done before measuring, for sizes too small to warm up. */
+	private static final int WARMUP_REMOVES = 1 << 22;
+
+	public static void main(String[] args) {
+		int[] sizes = Benchmark.getSizes(args, 10000, 1000000, 10000000);
+		for (int n : sizes) {
+			Random random = new Random(n);
+			Integer[] objects = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				objects[i] = random.nextInt();
+			}
+			System.out.println("n = " + n);
+			run("BinaryHeapPriorityQueue", new BinaryHeapPriorityQueue<Integer>(n), objects);
+			run("DaryHeapPriorityQueue, arity 4", new DaryHeapPriorityQueue<Integer>(n, 4, false), objects);
+			run("DaryHeapPriorityQueue, arity 8", new DaryHeapPriorityQueue<Integer>(n, 8, false), objects);
+			run("DaryHeapPriorityQueue, arity 8, aligned", new DaryHeapPriorityQueue<Integer>(n, 8, true), objects);
+			System.out.println();
+		}
+	}
+
+	private static void run(String name, final PriorityQueue<Integer> queue, final Integer[] objects) {
+		Benchmark.Setup fill = new Benchmark.Setup() {
+			public void run() {
+				queue.clear();
+				for (int i = 0; i < objects.length; i++) {
+					queue.insert(objects[i]);
+				}
+			}
+		};
+		Benchmark.Task drain = new Benchmark.Task() {
+			public long run() {
+				long sum = 0;
+				Integer object;
+				while ((object = queue.remove()) != null) {
+					sum += object;
+				}
+				return sum;
+			}
+		};
+		// Small queues drain too quickly for the warm-up rounds alone to compile remove
+		for (int i = 0; i < WARMUP_REMOVES / objects.length; i++) {
+			fill.run();
+			drain.run();
+		}
+		Benchmark.measure("remove, " + name, objects.length, fill, drain);
+		queue.clear();
+	}
+}